@@ -0,0 +1,42 @@
+#!/bin/bash
+# Time to first request: launches the backend, polls GET /todo/all until it answers 200
+# and prints the elapsed milliseconds, then stops it. Each run gets a scratch copy of
+# SEED_DB (or an empty database).
+#
+#   ./measure-startup.sh [runs] -- java -jar target/todo-0.1.5.jar
+#   SEED_DB=../todo.db ./measure-startup.sh 5 -- java -XX:SharedArchiveFile=... -jar ...
+set -e
+
+RUNS=3
+if [ "$1" != "--" ]; then
+    RUNS="$1"
+    shift
+fi
+shift # --
+PORT="${PORT:-18080}"
+
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+for run in $(seq 1 "$RUNS"); do
+    rm -f "$WORK_DIR"/todo.db*
+    if [ -n "$SEED_DB" ]; then
+        cp "$SEED_DB" "$WORK_DIR/todo.db"
+    fi
+    start=$(date +%s%N)
+    "$@" --server.port="$PORT" --spring.datasource.url="jdbc:sqlite:$WORK_DIR/todo.db" \
+        --spring.jpa.show-sql=false > "$WORK_DIR/app.log" 2>&1 &
+    pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/todo/all")" = "200" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited; see log below" >&2
+            cat "$WORK_DIR/app.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    echo "run $run: $(( (end - start) / 1000000 )) ms"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+done
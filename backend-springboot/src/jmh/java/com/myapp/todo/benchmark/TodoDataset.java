@@ -0,0 +1,149 @@
+package com.myapp.todo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myapp.todo.DayOrderAllocator;
+import com.myapp.todo.GroupedTodoItems;
+import com.myapp.todo.TodoApplication;
+import com.myapp.todo.TodoReadModel;
+import com.myapp.todo.TodoService;
+import com.myapp.todo.TodoStatistics;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * A running application over a generated SQLite dataset, shared by every
+ * benchmark in a trial. Rows are bulk-inserted with JDBC: going through
+ * TodoService would take longer than the benchmarks themselves at 1M tasks.
+ *
+ * Tasks are spread evenly over two years centred on today, so the
+ * allbydate window the benchmarks ask for (today +/- 30 days) holds about a
+ * twelfth of them.
+ *
+ * Completion, in-progress flags and timeTaken come from a fixed-seed Random,
+ * so every trial sees the same data: most past tasks are complete with some
+ * time logged, future ones mostly open, and a few open tasks are in progress
+ * with partial time. That keeps the statistics paths for complete and
+ * in-progress tasks as busy as they are on a real database.
+ */
+@State(Scope.Benchmark)
+public class TodoDataset {
+
+    private static final int DAYS = 730;
+    private static final int INSERT_BATCH = 10_000;
+    // Same spacing DayOrderAllocator gives appended tasks
+    private static final int ORDER_GAP = 1024;
+    private static final String[] CATEGORIES = {"Work", "Home", "Health", "Errands", "Study"};
+    private static final long SEED = 42;
+
+    @Param({"1000", "100000", "1000000"})
+    public int tasks;
+
+    @Param({"memory", "file"})
+    public String storage;
+
+    ConfigurableApplicationContext context;
+    TodoService todoService;
+    ObjectMapper objectMapper;
+    GroupedTodoItems grouped;
+    LocalDate from;
+    LocalDate to;
+
+    private Path databaseDir;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        String url;
+        if ("file".equals(storage)) {
+            databaseDir = Files.createTempDirectory("todo-jmh");
+            url = "jdbc:sqlite:" + databaseDir.resolve("todo.db");
+        } else {
+            // Shared cache keeps one in-memory database across the pool's connections
+            url = "jdbc:sqlite:file:todo-jmh-" + System.nanoTime() + "?mode=memory&cache=shared";
+        }
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Passed as arguments so they override application.properties
+        context = new SpringApplicationBuilder(TodoApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=" + url,
+                // An in-memory database lives only as long as its connections
+                "--spring.datasource.hikari.max-lifetime=0",
+                "--spring.jpa.show-sql=false",
+                // Keep the dataset fixed for the whole run
+                "--todo.archive.interval-minutes=0",
+                "--logging.level.root=WARN");
+
+        insertTasks(context.getBean(JdbcTemplate.class), context.getBean(TransactionTemplate.class));
+        context.getBean(TodoReadModel.class).reload();
+        context.getBean(TodoStatistics.class).rebuild();
+        context.getBean(DayOrderAllocator.class).clear();
+
+        todoService = context.getBean(TodoService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        from = LocalDate.now().minusDays(30);
+        to = LocalDate.now().plusDays(30);
+        grouped = todoService.getGroupedByDate(from, to);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        if (databaseDir != null) {
+            try (Stream<Path> files = Files.walk(databaseDir)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private void insertTasks(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        LocalDate today = LocalDate.now();
+        LocalDate first = today.minusDays(DAYS / 2);
+        Random random = new Random(SEED);
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+            for (int i = 1; i <= tasks; i++) {
+                LocalDate date = first.plusDays(i % DAYS);
+                boolean complete = random.nextInt(100) < (date.isBefore(today) ? 80 : 5);
+                boolean inProgress = !complete && random.nextInt(100) < 10;
+                long timeTaken = complete ? 5 + random.nextInt(240) : inProgress ? 1 + random.nextInt(60) : 0;
+                batch.add(new Object[] {
+                        (long) i,
+                        date.toString(),
+                        (i / DAYS + 1) * ORDER_GAP,
+                        CATEGORIES[i % CATEGORIES.length],
+                        "Task " + i,
+                        complete,
+                        i % 5,
+                        inProgress,
+                        timeTaken });
+                if (batch.size() == INSERT_BATCH || i == tasks) {
+                    jdbcTemplate.batchUpdate("insert into todo_item (id, task_date, day_order, category, name,"
+                            + " complete, priority, in_progress, time_taken, repeat_type, repeat_duration, long_term,"
+                            + " change_version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, false, 1)", batch);
+                    batch.clear();
+                }
+            }
+            jdbcTemplate.update("update todo_item_seq set next_val = ?", tasks + 1L);
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.myapp.todo.benchmark;
+
+import com.myapp.todo.dto.ImportResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to bulk-import a batch of tasks through POST /todo/import's service
+ * path, on top of each {@link TodoDataset}. Every invocation adds the rows
+ * again, so later iterations import into a larger table. Run with e.g.
+ * -Djmh.args="-p tasks=1000 -p storage=file TodoImportBenchmark".
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class TodoImportBenchmark {
+
+    private static final String[] CATEGORIES = {"Work", "Home", "Health", "Errands", "Study"};
+
+    @State(Scope.Benchmark)
+    public static class ImportBody {
+
+        @Param({"100000"})
+        public int rows;
+
+        byte[] json;
+        byte[] csv;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            LocalDate first = LocalDate.now().minusDays(365);
+            StringBuilder jsonRows = new StringBuilder("[");
+            StringBuilder csvRows = new StringBuilder("name,category,taskDate,complete,timeTaken\n");
+            for (int i = 0; i < rows; i++) {
+                String date = first.plusDays(i % 730).toString();
+                String category = CATEGORIES[i % CATEGORIES.length];
+                boolean complete = i % 3 == 0;
+                if (i > 0) {
+                    jsonRows.append(',');
+                }
+                jsonRows.append("{\"name\":\"Imported ").append(i).append("\",\"category\":\"").append(category)
+                        .append("\",\"taskDate\":\"").append(date).append("\",\"complete\":").append(complete)
+                        .append(",\"timeTaken\":").append(i % 60).append('}');
+                csvRows.append("Imported ").append(i).append(',').append(category).append(',').append(date)
+                        .append(',').append(complete).append(',').append(i % 60).append('\n');
+            }
+            json = jsonRows.append(']').toString().getBytes(StandardCharsets.UTF_8);
+            csv = csvRows.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public ImportResult importJson(TodoDataset dataset, ImportBody body) {
+        return dataset.todoService.importJson(new ByteArrayInputStream(body.json));
+    }
+
+    @Benchmark
+    public ImportResult importCsv(TodoDataset dataset, ImportBody body) {
+        return dataset.todoService.importCsv(new ByteArrayInputStream(body.csv));
+    }
+}
@@ -0,0 +1,64 @@
+package com.myapp.todo.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.myapp.todo.GroupedTodoItems;
+import com.myapp.todo.TodoItem;
+import com.myapp.todo.TodoStatistics;
+import com.myapp.todo.dto.TimeSeries;
+import com.myapp.todo.dto.TodoOperationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of the todo API, measured over each {@link TodoDataset} size and
+ * storage. Run with ./mvnw -Pjmh -DskipTests verify; pass e.g.
+ * -Djmh.args="-p tasks=1000 -p storage=memory TodoServiceBenchmark" to narrow a run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TodoServiceBenchmark {
+
+    @Benchmark
+    public GroupedTodoItems getGroupedByDate(TodoDataset dataset) {
+        return dataset.todoService.getGroupedByDate(dataset.from, dataset.to);
+    }
+
+    @Benchmark
+    public byte[] serializeGroupedByDate(TodoDataset dataset) throws JsonProcessingException {
+        return dataset.objectMapper.writeValueAsBytes(dataset.grouped);
+    }
+
+    @Benchmark
+    public List<TodoItem> search(TodoDataset dataset) {
+        return dataset.todoService.search("task 4242", 20);
+    }
+
+    @Benchmark
+    public TimeSeries weeklyTimeSeries(TodoDataset dataset) {
+        return dataset.todoService.getTimeSeries(TodoStatistics.Period.WEEK, null, null);
+    }
+
+    @Benchmark
+    public TodoOperationResult addTask(TodoDataset dataset) {
+        return dataset.todoService.addTask("Work", "Benchmark task", LocalDate.now(), null, null, null, null);
+    }
+
+    @Benchmark
+    public TodoOperationResult updateTaskField(TodoDataset dataset) {
+        long id = ThreadLocalRandom.current().nextLong(1, dataset.tasks + 1L);
+        return dataset.todoService.updateTaskField(id, "taskName", "Renamed " + id);
+    }
+}
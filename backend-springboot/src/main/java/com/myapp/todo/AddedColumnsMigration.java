@@ -0,0 +1,60 @@
+package com.myapp.todo;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Schema version 2: the columns added to baseline tables since the baseline.
+ * Written in Java because SQLite has no "add column if not exists", and a
+ * database that ran a build with ddl-auto=update in between may already have
+ * some of them. Spring Boot hands JavaMigration beans to Flyway.
+ */
+@Component
+public class AddedColumnsMigration implements JavaMigration {
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("2");
+    }
+
+    @Override
+    public String getDescription() {
+        return "added columns";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            if (!hasColumn(connection, "todo_item", "change_version")) {
+                statement.execute("alter table todo_item add column change_version bigint");
+            }
+            if (!hasColumn(connection, "scratchpad", "version")) {
+                statement.execute("alter table scratchpad add column version bigint");
+            }
+        }
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(null, null, table, column)) {
+            return columns.next();
+        }
+    }
+}
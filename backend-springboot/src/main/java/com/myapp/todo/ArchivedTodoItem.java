@@ -0,0 +1,89 @@
+package com.myapp.todo;
+
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A completed task moved out of todo_item by {@link TodoArchiver}. It keeps
+ * the task's id, which is never reused, and its fields as they were when it
+ * was archived. Archived tasks are read-only and served by /todo/history.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_archived_todo_item_task_date", columnList = "taskDate"))
+public class ArchivedTodoItem {
+
+    @Id
+    private Long id;
+
+    @Convert(converter = LocalDateStringConverter.class)
+    private LocalDate taskDate;
+    private Integer dayOrder;
+    private String category;
+    private String name;
+    private boolean complete;
+    private TodoItem.RepeatPattern repeatType;
+    private Integer repeatDuration;
+    private Integer priority;
+    private boolean inProgress;
+    private boolean longTerm;
+    @Convert(converter = LocalTimeStringConverter.class)
+    private LocalTime assignedTime;
+    private Long timeTaken;
+    private LocalDateTime archivedAt;
+
+    public ArchivedTodoItem() {
+    }
+
+    public ArchivedTodoItem(TodoItem item, LocalDateTime archivedAt) {
+        this.id = item.getId();
+        this.taskDate = item.getTaskDate();
+        this.dayOrder = item.getDayOrder();
+        this.category = item.getCategory();
+        this.name = item.getName();
+        this.complete = item.isComplete();
+        this.repeatType = item.getRepeatType();
+        this.repeatDuration = item.getRepeatDuration();
+        this.priority = item.getPriority();
+        this.inProgress = item.isInProgress();
+        this.longTerm = item.isLongTerm();
+        this.assignedTime = item.getAssignedTime();
+        this.timeTaken = item.getTimeTaken();
+        this.archivedAt = archivedAt;
+    }
+
+    /**
+     * The task as the API shows it, detached from any table.
+     */
+    public TodoItem toTodoItem() {
+        TodoItem item = new TodoItem(taskDate, dayOrder, category, name);
+        item.setId(id);
+        item.setComplete(complete);
+        item.setRepeatType(repeatType);
+        item.setRepeatDuration(repeatDuration);
+        item.setPriority(priority);
+        item.setInProgress(inProgress);
+        item.setLongTerm(longTerm);
+        item.setAssignedTime(assignedTime);
+        item.setTimeTaken(timeTaken);
+        return item;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getTaskDate() {
+        return taskDate;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.myapp.todo;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.CrudRepository;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ArchivedTodoItemRepository extends CrudRepository<ArchivedTodoItem, Long> {
+    List<ArchivedTodoItem> findByTaskDateBetweenOrderByTaskDateAscDayOrderAscIdAsc(LocalDate from, LocalDate to,
+            Limit limit);
+}
@@ -0,0 +1,98 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.ChangeEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * Pushes committed task and scratchpad changes to every open /todo/events
+ * connection.
+ *
+ * Emitting never waits: the sink hands each event straight to every
+ * subscriber's own bounded buffer. A subscriber that lets its buffer fill
+ * (a stalled tab or a dead connection) gets a final "resync" event and is
+ * closed, as is every stream on shutdown. EventSource reconnects on its own,
+ * and the client catches up with /todo/changes. An idle connection costs one
+ * buffer and a keepalive comment per interval.
+ */
+@Component
+public class ChangeEventStream {
+
+    // Events a subscriber may fall behind by before it is told to resync
+    static final int SUBSCRIBER_BUFFER = 256;
+
+    static final String RESYNC = "resync";
+
+    private static final Duration KEEPALIVE = Duration.ofSeconds(30);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Sinks.Many<ServerSentEvent<ChangeEvent>> sink = Sinks.many().multicast().directBestEffort();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("todo.events.subscribers", sink, Sinks.Many::currentSubscriberCount)
+                .description("Open change event streams")
+                .register(meterRegistry);
+    }
+
+    public Flux<ServerSentEvent<ChangeEvent>> subscribe() {
+        Flux<ServerSentEvent<ChangeEvent>> changes = sink.asFlux()
+                .onBackpressureBuffer(SUBSCRIBER_BUFFER)
+                .onErrorComplete()
+                .concatWith(Mono.just(ServerSentEvent.<ChangeEvent>builder().event(RESYNC).build()));
+        Flux<ServerSentEvent<ChangeEvent>> keepalive = Flux.interval(KEEPALIVE)
+                .map(tick -> ServerSentEvent.<ChangeEvent>builder().comment("keepalive").build());
+        // Ending at resync also cancels the keepalive, which closes the connection
+        return changes.mergeWith(keepalive).takeUntil(event -> RESYNC.equals(event.event()));
+    }
+
+    // Ends every stream before the web server's graceful shutdown would wait on them
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void close() {
+        sink.tryEmitComplete();
+    }
+
+    public void taskSaved(TodoItem item) {
+        emit("task", new ChangeEvent(item.getId(), new TodoItem(item), null));
+    }
+
+    public void taskDeleted(Long id) {
+        emit("task-deleted", new ChangeEvent(id, null, null));
+    }
+
+    /**
+     * Tells every subscriber to catch up with /todo/changes instead of sending
+     * one event per task, for writes too large to fit their buffers. Ends
+     * each stream like an overflow does.
+     */
+    public void resync() {
+        emit(ServerSentEvent.<ChangeEvent>builder().event(RESYNC).build());
+    }
+
+    public void scratchpadSaved(Scratchpad scratchpad) {
+        String lastModified = scratchpad.getLastModified() == null ? null : scratchpad.getLastModified().toString();
+        emit("scratchpad", new ChangeEvent(scratchpad.getId(), null, lastModified));
+    }
+
+    // Synchronized because a sink rejects concurrent emitters; it never blocks on subscribers
+    private void emit(String type, ChangeEvent event) {
+        emit(ServerSentEvent.builder(event).event(type).build());
+    }
+
+    private synchronized void emit(ServerSentEvent<ChangeEvent> event) {
+        sink.tryEmitNext(event);
+    }
+}
@@ -0,0 +1,58 @@
+package com.myapp.todo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out the change versions stamped on task rows and tombstones. Every
+ * write takes the next number, so "changes since N" is a range scan.
+ *
+ * The counter lives in memory and is seeded from the highest stored version
+ * at startup. Writes happen one at a time on {@link SqliteWriter}, so versions
+ * become visible in the order they were handed out. A rolled-back write only
+ * leaves a gap.
+ */
+@Component
+public class ChangeVersions {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeVersions.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected so the schema is migrated (or created by Hibernate in tests) before this runs
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final AtomicLong lastVersion = new AtomicLong();
+
+    @PostConstruct
+    void initialize() {
+        // Rows from before change tracking count as the first change
+        int backfilled = jdbcTemplate.update("update todo_item set change_version = 1 where change_version is null");
+        Long stored = jdbcTemplate.queryForObject("select max(v) from ("
+                + "select coalesce(max(change_version), 0) as v from todo_item union all "
+                + "select coalesce(max(change_version), 0) as v from todo_tombstone) versions", Long.class);
+        lastVersion.set(stored == null ? 0 : stored);
+        logger.info("Change versions continue from {} ({} rows backfilled)", lastVersion.get(), backfilled);
+    }
+
+    public long next() {
+        return lastVersion.incrementAndGet();
+    }
+
+    /**
+     * Stamps item with the next version. TodoChangeListener does this for
+     * every Hibernate insert and update; raw JDBC inserts call it themselves.
+     */
+    public void stamp(TodoItem item) {
+        item.setChangeVersion(next());
+    }
+}
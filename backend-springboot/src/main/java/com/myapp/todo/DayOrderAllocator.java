@@ -0,0 +1,82 @@
+package com.myapp.todo;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out the next dayOrder for a date without loading the day's tasks.
+ *
+ * Each date gets a counter seeded once from MAX(dayOrder) and advanced
+ * atomically afterwards. ConcurrentHashMap locks per bin, so only callers
+ * seeding the same date wait on each other. Orders are never reused: a
+ * rolled-back or deleted task just leaves a gap, which sorting tolerates.
+ *
+ * Orders are spaced {@link #GAP} apart so a task can later be moved between
+ * two neighbours by giving it the midpoint, without renumbering the day. A
+ * day whose orders reach Integer.MAX_VALUE keeps appending at that value;
+ * equal orders sort by id, so such tasks still land at the end, and the next
+ * move onto the day rebalances it.
+ */
+@Component
+public class DayOrderAllocator {
+
+    // Spacing between appended or rebalanced orders; ten midpoint moves fit in one gap
+    static final int GAP = 1024;
+
+    @Autowired
+    private TodoItemRepository repository;
+
+    private final Map<LocalDate, AtomicInteger> lastOrders = new ConcurrentHashMap<>();
+
+    public int next(LocalDate taskDate) {
+        return lastOrders
+                .computeIfAbsent(taskDate, date -> new AtomicInteger(repository.findMaxDayOrder(date)))
+                .updateAndGet(DayOrderAllocator::following);
+    }
+
+    // GAP above last, saturating instead of wrapping to a negative order
+    static int following(int last) {
+        return last > Integer.MAX_VALUE - GAP ? Integer.MAX_VALUE : last + GAP;
+    }
+
+    /**
+     * Returns an order strictly between the two neighbours' orders, or null when
+     * there is no room left and the day needs rebalancing. A null neighbour means
+     * the start or end of the day.
+     */
+    static Integer between(Integer before, Integer after) {
+        long lower = before == null ? 0 : before;
+        long upper = after == null ? lower + 2L * GAP : after;
+        if (upper - lower < 2 || (after == null && lower > Integer.MAX_VALUE - GAP)) {
+            return null;
+        }
+        return (int) (after == null ? lower + GAP : lower + (upper - lower) / 2);
+    }
+
+    /**
+     * Records an order written by some other path (an explicit dayOrder
+     * update or a task moved to another date) so later allocations stay above it.
+     */
+    public void observe(LocalDate taskDate, Integer dayOrder) {
+        if (taskDate == null || dayOrder == null) {
+            return;
+        }
+        AtomicInteger lastOrder = lastOrders.get(taskDate);
+        if (lastOrder != null) {
+            lastOrder.accumulateAndGet(dayOrder, Math::max);
+        }
+    }
+
+    /**
+     * Forgets every counter so the next allocation per date re-reads MAX(dayOrder).
+     * Needed only when rows are changed behind TodoService's back.
+     */
+    public void clear() {
+        lastOrders.clear();
+    }
+}
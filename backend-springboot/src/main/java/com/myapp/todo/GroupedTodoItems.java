@@ -1,17 +1,49 @@
 package com.myapp.todo;
 
-import java.util.Map;
-import java.util.HashMap;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
+/**
+ * Tasks grouped by date. Holds the days it is given without copying them;
+ * {@link GroupedTodoItemsSerializer} writes them out in date order.
+ */
+@JsonSerialize(using = GroupedTodoItemsSerializer.class)
 public class GroupedTodoItems {
-    private Map<String, List<TodoItem>> itemsByDate;
+    private NavigableMap<LocalDate, List<TodoItem>> days = Collections.emptyNavigableMap();
+
+    public GroupedTodoItems() {
+    }
+
+    /**
+     * @param days date-ordered days, each sorted by dayOrder; must not change afterwards
+     */
+    public GroupedTodoItems(NavigableMap<LocalDate, List<TodoItem>> days) {
+        this.days = Collections.unmodifiableNavigableMap(days);
+    }
+
+    NavigableMap<LocalDate, List<TodoItem>> days() {
+        return days;
+    }
 
+    // Builds a date-ordered map keyed as on the wire; responses are written without it
     public Map<String, List<TodoItem>> getItemsByDate() {
-        return itemsByDate == null ? null : new HashMap<>(itemsByDate);
+        Map<String, List<TodoItem>> itemsByDate = new LinkedHashMap<>();
+        days.forEach((date, items) -> itemsByDate.put(date.toString(), items));
+        return itemsByDate;
     }
 
     public void setItemsByDate(Map<String, List<TodoItem>> itemsByDate) {
-        this.itemsByDate = itemsByDate == null ? null : new HashMap<>(itemsByDate);
+        NavigableMap<LocalDate, List<TodoItem>> parsed = new TreeMap<>();
+        if (itemsByDate != null) {
+            itemsByDate.forEach((date, items) -> parsed.put(LocalDate.parse(date), items));
+        }
+        this.days = Collections.unmodifiableNavigableMap(parsed);
     }
-}
\ No newline at end of file
+}
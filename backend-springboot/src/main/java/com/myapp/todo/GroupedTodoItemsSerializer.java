@@ -0,0 +1,46 @@
+package com.myapp.todo;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams GroupedTodoItems straight from its days, in date order and each day
+ * in dayOrder order, without building a map per response. The output equals
+ * what ObjectMapper writes for {"itemsByDate": {"yyyy-MM-dd": [TodoItem, ...]}}
+ * built as a plain map of the same days; each task goes through TodoItem's own
+ * serializer, so it carries whatever fields TodoItem has.
+ */
+public class GroupedTodoItemsSerializer extends StdSerializer<GroupedTodoItems> {
+
+    private static final long serialVersionUID = 1L;
+
+    public GroupedTodoItemsSerializer() {
+        super(GroupedTodoItems.class);
+    }
+
+    @Override
+    public void serialize(GroupedTodoItems value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        JsonSerializer<Object> itemSerializer = provider.findValueSerializer(TodoItem.class);
+        gen.writeStartObject(value);
+        gen.writeFieldName("itemsByDate");
+        gen.writeStartObject();
+        for (Map.Entry<LocalDate, List<TodoItem>> day : value.days().entrySet()) {
+            gen.writeFieldName(day.getKey().toString());
+            gen.writeStartArray();
+            for (TodoItem item : day.getValue()) {
+                itemSerializer.serialize(item, gen, provider);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+}
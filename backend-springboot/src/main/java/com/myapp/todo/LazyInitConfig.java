@@ -0,0 +1,20 @@
+package com.myapp.todo;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * With spring.main.lazy-initialization=true (the fast profile) beans are
+ * created on first use. These do startup work that has to happen whether or
+ * not a request ever reaches them, so they stay eager: the id sequence floor
+ * must be in place before the first insert, and the archiver schedules itself.
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(TodoItemIdSequence.class, TodoArchiver.class);
+    }
+}
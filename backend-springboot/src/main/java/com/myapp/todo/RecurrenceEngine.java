@@ -0,0 +1,163 @@
+package com.myapp.todo;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Projects the future occurrences of recurring tasks without storing them.
+ *
+ * A recurring task row is its next occurrence; completing it is what creates
+ * the following row on the client. Occurrences after the row's date follow
+ * the same stepping the client uses, so a projected date is the date the
+ * client would eventually create.
+ *
+ * Expansion starts at the first occurrence on or after the window's start,
+ * reached arithmetically for day and week rules, so a window far from the
+ * task's date costs no more than one next to it. The last window expanded is
+ * cached per task, so repeated reads of it, or of a window inside it, cost a
+ * binary search. A cached expansion is discarded as soon as the task's date or
+ * rule no longer match it.
+ */
+@Component
+public class RecurrenceEngine {
+
+    // Upper bound on occurrences returned for one window, about five years of a daily task
+    static final int MAX_OCCURRENCES = 2000;
+
+    private final Map<Long, Expansion> expansions = new ConcurrentHashMap<>();
+
+    /**
+     * True for a task that should be expanded: incomplete, dated and carrying
+     * a rule that actually produces dates.
+     */
+    public static boolean repeats(TodoItem item) {
+        if (item.isComplete() || item.getTaskDate() == null || item.getRepeatType() == null
+                || item.getRepeatDuration() == null) {
+            return false;
+        }
+        int duration = item.getRepeatDuration();
+        return switch (item.getRepeatType()) {
+            case EVERY_X_DAYS, EVERY_X_WEEKS, EVERY_X_MONTHS -> duration > 0;
+            case SPECIFIC_WEEKDAYS -> (duration & 0b1111111) != 0;
+            case NONE -> false;
+        };
+    }
+
+    /**
+     * Occurrences of item strictly after its own date that fall in [from, to],
+     * in date order, at most {@link #MAX_OCCURRENCES} of them.
+     */
+    public List<LocalDate> occurrences(TodoItem item, LocalDate from, LocalDate to) {
+        if (!repeats(item) || from.isAfter(to)) {
+            return List.of();
+        }
+        Expansion expansion = expansions.get(item.getId());
+        if (expansion == null || !expansion.matches(item) || !expansion.covers(from, to)) {
+            expansion = Expansion.of(item, from, to);
+            // Concurrent readers may race to store an expansion; each is complete for its range
+            expansions.put(item.getId(), expansion);
+        }
+        return expansion.between(from, to);
+    }
+
+    public void evict(Long id) {
+        expansions.remove(id);
+    }
+
+    /**
+     * The first occurrence after taskDate that is on or after from. Day and week
+     * rules jump straight to it. Month rules step from taskDate, because a day
+     * clamped to a short month carries into every later month.
+     */
+    static LocalDate firstOnOrAfter(LocalDate taskDate, TodoItem.RepeatPattern repeatType, int duration,
+            LocalDate from) {
+        if (!from.isAfter(taskDate)) {
+            return next(taskDate, repeatType, duration);
+        }
+        switch (repeatType) {
+            case EVERY_X_DAYS:
+            case EVERY_X_WEEKS:
+                long step = repeatType == TodoItem.RepeatPattern.EVERY_X_DAYS ? duration : 7L * duration;
+                long steps = Math.ceilDiv(ChronoUnit.DAYS.between(taskDate, from), step);
+                return taskDate.plusDays(steps * step);
+            case SPECIFIC_WEEKDAYS:
+                return next(from.minusDays(1), repeatType, duration);
+            default:
+                LocalDate date = next(taskDate, repeatType, duration);
+                while (date.isBefore(from)) {
+                    date = next(date, repeatType, duration);
+                }
+                return date;
+        }
+    }
+
+    /**
+     * The occurrence after date, matching the client's stepping: months are
+     * added one step at a time (so Jan 31 goes to Feb 28, then Mar 28) and
+     * weekday masks read Monday as the highest of seven bits.
+     */
+    static LocalDate next(LocalDate date, TodoItem.RepeatPattern repeatType, int duration) {
+        switch (repeatType) {
+            case EVERY_X_DAYS:
+                return date.plusDays(duration);
+            case EVERY_X_WEEKS:
+                return date.plusWeeks(duration);
+            case EVERY_X_MONTHS:
+                return date.plusMonths(duration);
+            case SPECIFIC_WEEKDAYS:
+                LocalDate candidate = date.plusDays(1);
+                while ((duration & (1 << (7 - candidate.getDayOfWeek().getValue()))) == 0) {
+                    candidate = candidate.plusDays(1);
+                }
+                return candidate;
+            default:
+                throw new IllegalArgumentException("Task does not repeat: " + repeatType);
+        }
+    }
+
+    // The occurrences in [from, to], cut short at MAX_OCCURRENCES
+    private record Expansion(LocalDate taskDate, TodoItem.RepeatPattern repeatType, int repeatDuration,
+            LocalDate from, LocalDate to, List<LocalDate> dates) {
+
+        static Expansion of(TodoItem item, LocalDate from, LocalDate to) {
+            TodoItem.RepeatPattern repeatType = item.getRepeatType();
+            int duration = item.getRepeatDuration();
+            List<LocalDate> dates = new ArrayList<>();
+            LocalDate date = firstOnOrAfter(item.getTaskDate(), repeatType, duration, from);
+            while (!date.isAfter(to) && dates.size() < MAX_OCCURRENCES) {
+                dates.add(date);
+                date = next(date, repeatType, duration);
+            }
+            return new Expansion(item.getTaskDate(), repeatType, duration, from, to, List.copyOf(dates));
+        }
+
+        boolean matches(TodoItem item) {
+            return taskDate.equals(item.getTaskDate()) && repeatType == item.getRepeatType()
+                    && repeatDuration == item.getRepeatDuration();
+        }
+
+        // A window inside this one, ending before the cut if there was one
+        boolean covers(LocalDate windowFrom, LocalDate windowTo) {
+            LocalDate complete = dates.size() < MAX_OCCURRENCES ? to : dates.get(dates.size() - 1);
+            return !windowFrom.isBefore(from) && !windowTo.isAfter(complete);
+        }
+
+        List<LocalDate> between(LocalDate windowFrom, LocalDate windowTo) {
+            int start = insertionPoint(windowFrom);
+            int end = insertionPoint(windowTo.plusDays(1));
+            return start >= end ? List.of() : dates.subList(start, end);
+        }
+
+        private int insertionPoint(LocalDate date) {
+            int index = Collections.binarySearch(dates, date);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
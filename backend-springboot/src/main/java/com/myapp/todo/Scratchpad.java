@@ -21,6 +21,9 @@ public class Scratchpad {
 
     private LocalDateTime lastModified;
 
+    // Version of content: patches after it live in ScratchpadPatch until compacted
+    private Long version;
+
     public Scratchpad() {
     }
 
@@ -1,7 +1,11 @@
 package com.myapp.todo;
 
+import com.myapp.todo.dto.ScratchpadEdit;
+import com.myapp.todo.dto.ScratchpadPatchResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping(path = "/todo/scratchpad")
@@ -10,8 +14,14 @@ public class ScratchpadController {
     @Autowired
     private ScratchpadService service;
 
+    @Autowired
+    private DataVersion dataVersion;
+
     @GetMapping
-    public @ResponseBody Scratchpad getScratchpad() {
+    public @ResponseBody Scratchpad getScratchpad(WebRequest request) {
+        if (request.checkNotModified(dataVersion.etag())) {
+            return null; // 304 already written
+        }
         return service.getLastScratchpad();
     }
 
@@ -19,4 +29,14 @@ public class ScratchpadController {
     public @ResponseBody Scratchpad saveScratchpad(@RequestBody String content) {
         return service.saveScratchpad(content);
     }
+
+    @PostMapping("/patch")
+    public ResponseEntity<ScratchpadPatchResult> patchScratchpad(@RequestBody ScratchpadEdit edit) {
+        if (edit.getBaseVersion() == null) {
+            // Without it the edit cannot be checked against the current version
+            return ResponseEntity.badRequest().body(new ScratchpadPatchResult("Error: Missing baseVersion",
+                    service.getLastScratchpad().getVersion()));
+        }
+        return ResponseEntity.ok(service.applyPatch(edit));
+    }
 }
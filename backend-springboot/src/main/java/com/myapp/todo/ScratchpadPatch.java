@@ -0,0 +1,50 @@
+package com.myapp.todo;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the scratchpad's append-only edit log: replace deleteCount
+ * characters at position with text. The version it produces is the key, since
+ * there is a single scratchpad and each version has exactly one patch.
+ */
+@Getter
+@Setter
+@Entity
+public class ScratchpadPatch {
+
+    @Id
+    private Long version;
+
+    private int position;
+
+    private int deleteCount;
+
+    @Column(columnDefinition = "TEXT")
+    private String text;
+
+    private LocalDateTime createdAt;
+
+    public ScratchpadPatch() {
+    }
+
+    public ScratchpadPatch(Long version, int position, int deleteCount, String text, LocalDateTime createdAt) {
+        this.version = version;
+        this.position = position;
+        this.deleteCount = deleteCount;
+        this.text = text;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * The content this patch produces from the content of the version before it.
+     */
+    public String applyTo(String content) {
+        return content.substring(0, position) + text + content.substring(position + deleteCount);
+    }
+}
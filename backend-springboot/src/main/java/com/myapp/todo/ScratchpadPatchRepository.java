@@ -0,0 +1,16 @@
+package com.myapp.todo;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.List;
+
+public interface ScratchpadPatchRepository extends CrudRepository<ScratchpadPatch, Long> {
+
+    List<ScratchpadPatch> findByVersionGreaterThanOrderByVersionAsc(Long version);
+
+    @Modifying
+    @Query("delete from ScratchpadPatch p where p.version <= :version")
+    int deleteUpTo(Long version);
+}
@@ -1,33 +1,391 @@
 package com.myapp.todo;
 
+import com.myapp.todo.dto.ScratchpadEdit;
+import com.myapp.todo.dto.ScratchpadPatchResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Keeps the scratchpad as a snapshot row plus a log of small patches, so an
+ * edit appends a few bytes instead of rewriting the whole TEXT column. Once
+ * the log grows past {@link #COMPACT_AFTER} patches a background write folds
+ * it back into the snapshot.
+ *
+ * The newest content is held in memory and is what reads return. Full saves
+ * only replace it there; the last one is written out once saves have paused
+ * for the flush delay, or on shutdown, so a burst of autosaves costs one
+ * write. Each save pushes the write back, but never past the max wait from
+ * the first unwritten save, so a client that never pauses is still written
+ * out. A patch first writes out any such save, keeping the log in version
+ * order on disk. A save was acknowledged when it was made, so if its write
+ * fails it is put back in memory and written again after the delay; patches
+ * made on it in the meantime are rejected with a conflict, as below.
+ *
+ * Versions are handed out under one lock, and writes are queued on the
+ * {@link SqliteWriter} from inside it, so the writer stores them in version
+ * order. A patch is acknowledged, and announced through the ETag and change
+ * events, only once its write commits. Its write checks that the write it
+ * was based on committed first; when that one failed, the patch is not
+ * stored and its client gets a version conflict, so nothing lands after a
+ * gap in the log.
+ */
 @Service
 public class ScratchpadService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ScratchpadService.class);
+
+    // Log length that triggers compaction into the snapshot row
+    static final int COMPACT_AFTER = 100;
+
     @Autowired
     private ScratchpadRepository repository;
 
+    @Autowired
+    private ScratchpadPatchRepository patches;
+
+    @Autowired
+    private SqliteWriter writer;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private ChangeEventStream events;
+
+    @Value("${todo.scratchpad.flush-delay-ms:1000}")
+    private long flushDelayMs;
+
+    @Value("${todo.scratchpad.flush-max-wait-ms:10000}")
+    private long flushMaxWaitMs;
+
     // Using specific ID 1 for the singleton scratchpad for now
     private static final Long DEFAULT_ID = 1L;
 
+    private final Object lock = new Object();
+
+    // Newest content, unflushed save included; null until first read from the database
+    private volatile State latest;
+
+    // Guarded by lock: a full save not yet written, and patches logged since the snapshot
+    private State unflushed;
+    private int logged;
+
+    // Guarded by lock: the newest queued write memory is ahead of, which the next patch
+    // depends on; null when memory matches the database or a newer save replaces it
+    private Pending lastWrite;
+
+    // Guarded by lock: the scheduled write of unflushed, and when its burst of saves began
+    private ScheduledFuture<?> pendingFlush;
+    private long burstStartNanos;
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scratchpad-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Runs before the writer stops, since this bean depends on it
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        flush();
+    }
+
     public Scratchpad getLastScratchpad() {
-        Optional<Scratchpad> scratchpad = repository.findById(DEFAULT_ID);
-        return scratchpad.orElseGet(() -> {
+        State state = latest;
+        if (state == null) {
+            synchronized (lock) {
+                state = current();
+            }
+        }
+        return state.toScratchpad();
+    }
+
+    public Scratchpad saveScratchpad(String content) {
+        synchronized (lock) {
+            State next = new State(content, current().version() + 1, LocalDateTime.now());
+            scheduleFlush();
+            unflushed = next;
+            logged = 0;
+            lastWrite = null;
+            publish(next);
+            return next.toScratchpad();
+        }
+    }
+
+    /**
+     * Appends one edit to the log. It applies only to the version it was made
+     * against; a client that gets a conflict reloads and sends the edit again.
+     */
+    public ScratchpadPatchResult applyPatch(ScratchpadEdit edit) {
+        Pending pending;
+        State next;
+        synchronized (lock) {
+            State current = current();
+            if (edit.getBaseVersion() == null || edit.getBaseVersion() != current.version()) {
+                return new ScratchpadPatchResult("Error: Version conflict", current.version());
+            }
+            String text = edit.getText() == null ? "" : edit.getText();
+            int length = current.content().length();
+            if (edit.getPosition() < 0 || edit.getDeleteCount() < 0 || edit.getPosition() > length
+                    || edit.getDeleteCount() > length - edit.getPosition()) {
+                return new ScratchpadPatchResult("Error: Patch out of range", current.version());
+            }
+            ScratchpadPatch patch = new ScratchpadPatch(current.version() + 1, edit.getPosition(),
+                    edit.getDeleteCount(), text, LocalDateTime.now());
+            next = current.apply(patch);
+            State save = unflushed;
+            unflushed = null;
+            // A full save replaces the content, so a patch on one does not depend on earlier writes
+            Pending base = save == null ? lastWrite : null;
+            CompletableFuture<Void> write = writer.submit(() -> {
+                requireStored(base);
+                if (save != null) {
+                    writeSnapshot(save);
+                }
+                patches.save(patch);
+                return null;
+            });
+            if (save != null) {
+                pending = new Pending(write, save, write);
+            } else if (base != null) {
+                pending = new Pending(write, base.save(), base.saveWrite());
+            } else {
+                pending = new Pending(write, null, null);
+            }
+            lastWrite = pending;
+            latest = next;
+            if (++logged >= COMPACT_AFTER) {
+                logged = 0;
+                State compacted = next;
+                Pending folding = pending;
+                writer.submit(() -> {
+                    requireStored(folding);
+                    return writeSnapshot(compacted);
+                }).whenComplete((folded, e) -> {
+                    if (e != null) {
+                        logger.warn("Scratchpad compaction failed, the log will be replayed: {}", e.getMessage());
+                    } else {
+                        logger.info("Compacted {} scratchpad patches into version {}", folded, compacted.version());
+                    }
+                });
+            }
+        }
+        try {
+            await(pending);
+        } catch (BaseNotStoredException e) {
+            return new ScratchpadPatchResult("Error: Version conflict", getLastScratchpad().getVersion());
+        }
+        announce(next);
+        return new ScratchpadPatchResult("Applied", next.version());
+    }
+
+    /**
+     * Writes out a full save still held in memory, if any.
+     */
+    void flush() {
+        Pending pending;
+        synchronized (lock) {
+            State save = unflushed;
+            if (save == null) {
+                return;
+            }
+            unflushed = null;
+            CompletableFuture<Integer> write = writer.submit(() -> writeSnapshot(save));
+            // Patches made before this commits are based on the save and depend on it
+            pending = new Pending(write, save, write);
+            lastWrite = pending;
+        }
+        await(pending);
+    }
+
+    /**
+     * Writes out any pending save, then drops the in-memory copy so the next
+     * access reads the database again.
+     */
+    void reload() {
+        flush();
+        synchronized (lock) {
+            latest = null;
+            logged = 0;
+            lastWrite = null;
+        }
+    }
+
+    // Called with lock held: (re)starts the delay, capped by the max wait for this burst
+    private void scheduleFlush() {
+        long now = System.nanoTime();
+        if (unflushed == null) {
+            burstStartNanos = now;
+        }
+        if (pendingFlush != null) {
+            pendingFlush.cancel(false);
+        }
+        long waited = TimeUnit.NANOSECONDS.toMillis(now - burstStartNanos);
+        long delay = Math.max(0, Math.min(flushDelayMs, flushMaxWaitMs - waited));
+        pendingFlush = flusher.schedule(this::flushQuietly, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush scratchpad save, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void await(Pending pending) {
+        try {
+            pending.write().join();
+        } catch (CompletionException e) {
+            recover(pending);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Memory ran ahead of a write that failed. Only the newest write recovers: every write
+    // queued on a failed one fails too, and a later full save replaces them all. A save
+    // whose own write failed goes back in memory to be written again; otherwise the next
+    // access reads the database, behind every write already queued
+    private void recover(Pending failed) {
+        synchronized (lock) {
+            if (lastWrite != failed) {
+                return;
+            }
+            lastWrite = null;
+            logged = 0;
+            State save = failed.save();
+            if (save != null && failed.saveWrite().isCompletedExceptionally() && !flusher.isShutdown()) {
+                scheduleFlush();
+                unflushed = save;
+                latest = save;
+            } else {
+                if (save != null && failed.saveWrite().isCompletedExceptionally()) {
+                    logger.error("Scratchpad save of version {} could not be written at shutdown", save.version());
+                }
+                latest = null;
+            }
+        }
+        dataVersion.bump();
+    }
+
+    // Runs on the writer. Writes run in submission order, so base has ended by now unless
+    // it shares this group, in which case a failure rolls both back and retries them alone
+    private static void requireStored(Pending base) {
+        if (base != null && base.write().isCompletedExceptionally()) {
+            throw new BaseNotStoredException();
+        }
+    }
+
+    private void publish(State state) {
+        latest = state;
+        announce(state);
+    }
+
+    private void announce(State state) {
+        dataVersion.bump();
+        events.scratchpadSaved(state.toScratchpad());
+    }
+
+    // Called with lock held
+    private State current() {
+        if (latest == null) {
+            Stored stored = writer.execute(this::readStored);
+            latest = stored.state();
+            logged = stored.logged();
+        }
+        return latest;
+    }
+
+    // Runs on the writer: the snapshot with the log replayed over it
+    private Stored readStored() {
+        Scratchpad snapshot = findOrCreate();
+        long version = snapshot.getVersion() == null ? 0 : snapshot.getVersion();
+        String content = snapshot.getContent() == null ? "" : snapshot.getContent();
+        State state = new State(content, version, snapshot.getLastModified());
+        List<ScratchpadPatch> log = patches.findByVersionGreaterThanOrderByVersionAsc(version);
+        for (ScratchpadPatch patch : log) {
+            if (patch.getVersion() != state.version() + 1) {
+                logger.warn("Scratchpad log has a gap after version {}, ignoring later patches", state.version());
+                break;
+            }
+            state = state.apply(patch);
+        }
+        return new Stored(state, log.size());
+    }
+
+    // Runs on the writer: rewrites the snapshot and drops the patches it covers
+    private int writeSnapshot(State state) {
+        Scratchpad snapshot = findOrCreate();
+        snapshot.setContent(state.content());
+        snapshot.setVersion(state.version());
+        snapshot.setLastModified(state.lastModified());
+        repository.save(snapshot);
+        return patches.deleteUpTo(state.version());
+    }
+
+    // Runs on the writer, so a concurrent first read cannot create the row twice
+    private Scratchpad findOrCreate() {
+        return repository.findById(DEFAULT_ID).orElseGet(() -> {
             Scratchpad newScratchpad = new Scratchpad("");
             newScratchpad.setId(DEFAULT_ID);
+            newScratchpad.setVersion(0L);
             return repository.save(newScratchpad);
         });
     }
 
-    public Scratchpad saveScratchpad(String content) {
-        Scratchpad scratchpad = getLastScratchpad();
-        scratchpad.setContent(content);
-        scratchpad.setLastModified(LocalDateTime.now());
-        return repository.save(scratchpad);
+    private record Stored(State state, int logged) {
+    }
+
+    // A queued write, and the last full save before it with the write that stores that save
+    private record Pending(CompletableFuture<?> write, State save, CompletableFuture<?> saveWrite) {
+    }
+
+    // The write a patch was based on failed, so the patch must not be stored either
+    private static final class BaseNotStoredException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        BaseNotStoredException() {
+            super("The scratchpad version this patch was based on was not stored");
+        }
+    }
+
+    private record State(String content, long version, LocalDateTime lastModified) {
+
+        State apply(ScratchpadPatch patch) {
+            return new State(patch.applyTo(content), patch.getVersion(), patch.getCreatedAt());
+        }
+
+        Scratchpad toScratchpad() {
+            Scratchpad scratchpad = new Scratchpad();
+            scratchpad.setId(DEFAULT_ID);
+            scratchpad.setContent(content);
+            scratchpad.setVersion(version);
+            scratchpad.setLastModified(lastModified);
+            return scratchpad;
+        }
     }
 }
@@ -0,0 +1,222 @@
+package com.myapp.todo;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Funnels every database write through one thread. SQLite allows a single
+ * writer at a time, so instead of letting request threads race for the lock
+ * the writer drains whatever is queued and commits it as one transaction,
+ * paying one fsync for the whole group.
+ *
+ * Work submitted here may run more than once: if any write in a group throws,
+ * the group is rolled back and each write is retried in its own transaction so
+ * only the failing one reports an error. Side effects outside the database
+ * belong in {@link #afterCommit(Runnable)}.
+ *
+ * Since this thread is the only one that takes SQLite's write lock, time spent
+ * queued here is the application's lock wait; it is published as
+ * sqlite.writer.wait next to the per-group transaction time.
+ */
+@Component
+public class SqliteWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqliteWriter.class);
+
+    // Upper bound on writes folded into one transaction
+    private static final int MAX_GROUP_SIZE = 64;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final BlockingQueue<PendingWrite<?>> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+
+    private Thread writerThread;
+
+    private Timer waitTimer;
+    private Timer committedTimer;
+    private Timer rolledBackTimer;
+    private DistributionSummary groupSizes;
+
+    @PostConstruct
+    void start() {
+        waitTimer = Timer.builder("sqlite.writer.wait")
+                .description("Time a write spent queued for the single SQLite writer")
+                .register(meterRegistry);
+        committedTimer = transactionTimer("committed");
+        rolledBackTimer = transactionTimer("rolled_back");
+        groupSizes = DistributionSummary.builder("sqlite.writer.group.size")
+                .description("Writes committed together in one transaction")
+                .register(meterRegistry);
+        Gauge.builder("sqlite.writer.queue.size", queue, BlockingQueue::size)
+                .description("Writes waiting for the SQLite writer")
+                .register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::drain, "sqlite-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        // Left behind by an interrupted writer; fail them so no caller waits forever
+        PendingWrite<?> write;
+        while ((write = queue.poll()) != null) {
+            write.fail(new IllegalStateException("SQLite writer is shut down"));
+        }
+    }
+
+    /**
+     * Queues a write and returns a future completed once its group commits.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        if (!running) {
+            throw new IllegalStateException("SQLite writer is shut down");
+        }
+        PendingWrite<T> write = new PendingWrite<>(work);
+        queue.add(write);
+        // The writer may have stopped and found the queue empty in between; take the write back if nothing else has
+        if (!running && queue.remove(write)) {
+            throw new IllegalStateException("SQLite writer is shut down");
+        }
+        return write.future;
+    }
+
+    /**
+     * Queues a write and waits for it to commit. Called from the writer thread
+     * itself (a write that calls another service) it runs inline instead.
+     */
+    public <T> T execute(Supplier<T> work) {
+        if (Thread.currentThread() == writerThread) {
+            return work.get();
+        }
+        try {
+            return submit(work).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the action after the current group commits, in submission order, or
+     * immediately when no transaction is active.
+     */
+    public void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void drain() {
+        List<PendingWrite<?>> group = new ArrayList<>(MAX_GROUP_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, MAX_GROUP_SIZE - 1);
+                long now = System.nanoTime();
+                for (PendingWrite<?> write : group) {
+                    waitTimer.record(now - write.queuedAt, TimeUnit.NANOSECONDS);
+                }
+                groupSizes.record(group.size());
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("SQLite writer interrupted with {} writes queued", queue.size());
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private Timer transactionTimer(String outcome) {
+        return Timer.builder("sqlite.writer.transaction")
+                .description("Time to run and commit one group of writes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void commit(List<PendingWrite<?>> group) {
+        long started = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> group.forEach(PendingWrite::run));
+            committedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            group.forEach(PendingWrite::complete);
+        } catch (RuntimeException | Error e) {
+            rolledBackTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (group.size() == 1) {
+                group.get(0).fail(e);
+                return;
+            }
+            logger.warn("Group commit of {} writes failed, retrying individually: {}", group.size(), e.getMessage());
+            for (PendingWrite<?> write : group) {
+                commit(List.of(write));
+            }
+        }
+    }
+
+    private static final class PendingWrite<T> {
+        private final Supplier<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long queuedAt = System.nanoTime();
+        private T result;
+
+        private PendingWrite(Supplier<T> work) {
+            this.work = work;
+        }
+
+        private void run() {
+            result = work.get();
+        }
+
+        private void complete() {
+            future.complete(result);
+        }
+
+        private void fail(Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.myapp.todo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(TodoRuntimeHints.class)
 public class TodoApplication {
 
 	public static void main(String[] args) {
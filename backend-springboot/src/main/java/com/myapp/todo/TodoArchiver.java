@@ -0,0 +1,146 @@
+package com.myapp.todo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves completed tasks dated more than todo.archive.after-days ago from
+ * todo_item into archived_todo_item, so the hot table and the read model only
+ * hold tasks that can still change. Runs in the background every
+ * todo.archive.interval-minutes, one batch per writer job, so a large backlog
+ * never holds the write lock for long.
+ *
+ * Each archived task leaves a tombstone, the same as a delete, so synced
+ * clients drop it. A batch can outnumber a subscriber's event buffer, so open
+ * event streams get one resync per batch rather than a task-deleted event per
+ * task. Statistics keep counting it.
+ */
+@Component
+public class TodoArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoArchiver.class);
+
+    @Autowired
+    private TodoItemRepository repository;
+
+    // Archive rows and tombstones carry the task's id, so saving them through a repository
+    // would merge, and SELECT each row first; they are always new, so persist them
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private SqliteWriter writer;
+
+    @Autowired
+    private TodoReadModel readModel;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private ChangeEventStream events;
+
+    // Zero or less turns archival off
+    @Value("${todo.archive.after-days:365}")
+    private int afterDays;
+
+    @Value("${todo.archive.batch-size:500}")
+    private int batchSize;
+
+    // Zero or less leaves archival to explicit archive() calls
+    @Value("${todo.archive.interval-minutes:60}")
+    private long intervalMinutes;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        if (afterDays <= 0 || intervalMinutes <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // First run shortly after startup, off the startup path
+        scheduler.scheduleWithFixedDelay(this::archiveQuietly, 1, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Archives every eligible task, batch by batch; returns how many moved.
+     */
+    int archive() {
+        if (afterDays <= 0) {
+            return 0;
+        }
+        LocalDate cutoff = LocalDate.now().minusDays(afterDays);
+        int total = 0;
+        int moved;
+        do {
+            moved = writer.execute(() -> archiveBatch(cutoff));
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            logger.info("Archived {} completed tasks dated before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            logger.error("Failed to archive completed tasks: {}", e.getMessage());
+        }
+    }
+
+    // Runs on the writer: copies one batch to the archive and drops it from the hot table
+    private int archiveBatch(LocalDate cutoff) {
+        List<TodoItem> batch = repository.findByCompleteTrueAndTaskDateBeforeOrderByIdAsc(cutoff,
+                Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (TodoItem item : batch) {
+            entityManager.persist(new ArchivedTodoItem(item, now));
+            entityManager.persist(new TodoTombstone(item.getId(), changeVersions.next()));
+            ids.add(item.getId());
+        }
+        repository.deleteAllByIdIn(ids);
+        writer.afterCommit(() -> {
+            readModel.removeAll(ids);
+            dataVersion.bump();
+            events.resync();
+        });
+        return batch.size();
+    }
+}
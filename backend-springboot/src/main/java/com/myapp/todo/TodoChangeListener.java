@@ -0,0 +1,25 @@
+package com.myapp.todo;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stamps a fresh change version on every inserted or updated task, whichever
+ * path wrote it (single update, batch dirty checking or a day rebalance).
+ */
+@Component
+public class TodoChangeListener {
+
+    // Looked up lazily: listeners are built with the EntityManagerFactory that ChangeVersions waits for
+    @Autowired
+    private ObjectProvider<ChangeVersions> changeVersions;
+
+    @PrePersist
+    @PreUpdate
+    void stamp(TodoItem item) {
+        changeVersions.getObject().stamp(item);
+    }
+}
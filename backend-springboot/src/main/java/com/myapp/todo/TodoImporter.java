@@ -0,0 +1,317 @@
+package com.myapp.todo;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myapp.todo.dto.ImportResult;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk-loads tasks from a JSON array, newline-delimited JSON or CSV body. The
+ * input is read as a stream and written in chunks of {@link #CHUNK_SIZE}, each
+ * one SqliteWriter job: a block of ids is reserved through TodoItemIdGenerator
+ * in one update, each task is built by TodoItemFactory like POST /todo/add,
+ * and the rows go out as a single JDBC batch insert. Only one chunk is held
+ * in memory. Open event streams get one resync per chunk rather than an event
+ * per task, which would overflow their buffers.
+ *
+ * Rows use TodoItem's JSON property names (CSV takes them from the header
+ * row). id, dayOrder and changeVersion are assigned here and ignored in the
+ * input; each task is appended to the end of its day, like POST /todo/add.
+ */
+@Component
+public class TodoImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoImporter.class);
+
+    static final int CHUNK_SIZE = 5000;
+
+    private static final int MAX_ERRORS = 20;
+
+    private static final String INSERT = "insert into todo_item (id, task_date, day_order, category, name, complete,"
+            + " priority, repeat_type, repeat_duration, in_progress, long_term, assigned_time, time_taken,"
+            + " change_version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final LocalDateStringConverter DATES = new LocalDateStringConverter();
+    private static final LocalTimeStringConverter TIMES = new LocalTimeStringConverter();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SqliteWriter writer;
+
+    @Autowired
+    private TodoItemFactory tasks;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private TodoReadModel readModel;
+
+    @Autowired
+    private TodoStatistics statistics;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private ChangeEventStream events;
+
+    /**
+     * Imports a JSON array of tasks, or a stream of task objects such as
+     * newline-delimited JSON.
+     */
+    public ImportResult importJson(InputStream input) {
+        Chunks chunks = new Chunks();
+        int row = 0;
+        try (MappingIterator<TodoItem> rows = objectMapper.readerFor(TodoItem.class).readValues(input)) {
+            while (true) {
+                row++;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    chunks.add(row, rows.nextValue());
+                } catch (JsonParseException e) {
+                    return chunks.fail(row, e.getOriginalMessage());
+                } catch (JsonMappingException e) {
+                    // A well-formed row with a bad value; the iterator skips to the next one
+                    chunks.skip(row, e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            return chunks.fail(row, e.getMessage());
+        }
+        return chunks.finish();
+    }
+
+    /**
+     * Imports CSV with a header row naming the columns. Empty cells are left
+     * unset.
+     */
+    public ImportResult importCsv(InputStream input) {
+        Chunks chunks = new Chunks();
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        try {
+            List<String> header = csv.next();
+            if (header == null) {
+                return chunks.finish();
+            }
+            header.replaceAll(column -> column.replace("\uFEFF", "").trim());
+            int row = 0;
+            List<String> fields;
+            while ((fields = csv.next()) != null) {
+                row++;
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < Math.min(header.size(), fields.size()); i++) {
+                    if (!fields.get(i).isEmpty()) {
+                        values.put(header.get(i), fields.get(i));
+                    }
+                }
+                try {
+                    chunks.add(row, objectMapper.convertValue(values, TodoItem.class));
+                } catch (IllegalArgumentException e) {
+                    chunks.skip(row, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            return chunks.fail(csv.line(), e.getMessage());
+        }
+        return chunks.finish();
+    }
+
+    // Runs on the writer: inserts one chunk with ids, orders and versions assigned
+    private int insert(List<TodoItem> rows) {
+        TodoItemIdGenerator ids = idGenerator();
+        // The writer's transaction, shared with the batch insert: a failed chunk rolls its reservation back
+        Long firstId = jdbcTemplate.execute((ConnectionCallback<Long>) c -> ids.reserve(c, rows.size()));
+        if (firstId == null) {
+            throw new IllegalStateException("No ids reserved");
+        }
+
+        List<TodoItem> items = new ArrayList<>(rows.size());
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            TodoItem row = rows.get(i);
+            TodoItem item = tasks.newTask(row.getTaskDate(), row.getCategory(), row.getName(), row.getRepeatType(),
+                    row.getRepeatDuration(), row.getPriority(), row.isLongTerm());
+            item.setId(firstId + i);
+            item.setComplete(row.isComplete());
+            item.setInProgress(row.isInProgress());
+            item.setAssignedTime(row.getAssignedTime());
+            item.setTimeTaken(row.getTimeTaken());
+            changeVersions.stamp(item);
+            items.add(item);
+            batch.add(new Object[] {
+                    item.getId(),
+                    DATES.convertToDatabaseColumn(item.getTaskDate()),
+                    item.getDayOrder(),
+                    item.getCategory(),
+                    item.getName(),
+                    item.isComplete(),
+                    item.getPriority(),
+                    item.getRepeatType().ordinal(),
+                    item.getRepeatDuration(),
+                    item.isInProgress(),
+                    item.isLongTerm(),
+                    TIMES.convertToDatabaseColumn(item.getAssignedTime()),
+                    item.getTimeTaken(),
+                    item.getChangeVersion() });
+        }
+        jdbcTemplate.batchUpdate(INSERT, batch);
+        writer.afterCommit(() -> publish(items));
+        return items.size();
+    }
+
+    // The instance Hibernate uses for TodoItem, so imports and saves share its high-water mark
+    private TodoItemIdGenerator idGenerator() {
+        return (TodoItemIdGenerator) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(TodoItem.class).getGenerator();
+    }
+
+    // Runs after commit, like TodoService.publish but with one read model update and one event per chunk
+    private void publish(List<TodoItem> items) {
+        readModel.putAll(items);
+        items.forEach(statistics::put);
+        dataVersion.bump();
+        events.resync();
+    }
+
+    // Collects valid rows and writes them a chunk at a time
+    private final class Chunks {
+        private List<TodoItem> pending = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private int imported;
+        private int skipped;
+
+        void add(int row, TodoItem item) {
+            if (item == null || item.getName() == null || item.getName().isBlank()) {
+                skip(row, "missing name");
+            } else if (item.getTaskDate() == null) {
+                skip(row, "missing taskDate");
+            } else {
+                pending.add(item);
+                if (pending.size() == CHUNK_SIZE) {
+                    flush();
+                }
+            }
+        }
+
+        void skip(int row, String reason) {
+            skipped++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add("Row " + row + ": " + reason);
+            }
+        }
+
+        ImportResult fail(int row, String reason) {
+            flush();
+            logger.warn("Import stopped at row {} after {} tasks: {}", row, imported, reason);
+            return new ImportResult("Error: Malformed input at row " + row + ": " + reason, imported, skipped,
+                    errors);
+        }
+
+        ImportResult finish() {
+            flush();
+            logger.info("Imported {} tasks, skipped {}", imported, skipped);
+            return new ImportResult("Imported", imported, skipped, errors);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<TodoItem> chunk = pending;
+            pending = new ArrayList<>();
+            imported += writer.execute(() -> insert(chunk));
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: comma separated, fields optionally quoted with
+     * "" as an escaped quote, quoted fields may span lines, CRLF or LF endings.
+     */
+    static final class CsvReader {
+        private final Reader in;
+        private int line;
+
+        CsvReader(Reader in) {
+            this.in = in;
+        }
+
+        // Line the reader has reached, for error messages
+        int line() {
+            return line;
+        }
+
+        // The next record's fields, or null at end of input
+        List<String> next() throws IOException {
+            int c = in.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        c = in.read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = in.read();
+            }
+        }
+    }
+}
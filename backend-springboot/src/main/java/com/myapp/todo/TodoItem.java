@@ -1,11 +1,14 @@
 package com.myapp.todo;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Convert;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -14,13 +17,18 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @Entity
+@EntityListeners(TodoChangeListener.class)
+@Table(indexes = {
+        @Index(name = "idx_todo_item_change_version", columnList = "changeVersion"),
+        // Archival query: completed tasks dated before a cutoff
+        @Index(name = "idx_todo_item_complete_task_date", columnList = "complete, taskDate") })
 public class TodoItem {
     @JsonFormat(pattern = "yyyy-MM-dd")
     @Convert(converter = LocalDateStringConverter.class)
     private LocalDate taskDate;
     private Integer dayOrder;
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TodoItemId
     private Long id;
     private String category;
     private String name;
@@ -42,6 +50,24 @@ public class TodoItem {
         this.complete = false;
     }
 
+    public TodoItem(TodoItem other) {
+        this.taskDate = other.taskDate;
+        this.dayOrder = other.dayOrder;
+        this.id = other.id;
+        this.category = other.category;
+        this.name = other.name;
+        this.complete = other.complete;
+        this.repeatType = other.repeatType;
+        this.repeatDuration = other.repeatDuration;
+        this.priority = other.priority;
+        this.inProgress = other.inProgress;
+        this.longTerm = other.longTerm;
+        this.assignedTime = other.assignedTime;
+        this.timeTaken = other.timeTaken;
+        this.virtual = other.virtual;
+        this.changeVersion = other.changeVersion;
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -166,4 +192,29 @@ public class TodoItem {
     public void setTimeTaken(Long timeTaken) {
         this.timeTaken = timeTaken;
     }
+
+    // Set by TodoChangeListener on every insert and update; see /todo/changes
+    private Long changeVersion;
+
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
+    // True on occurrences projected from a recurring task; they carry the source
+    // task's id and are never stored. Left out of JSON on stored tasks
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean virtual;
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public void setVirtual(boolean virtual) {
+        this.virtual = virtual;
+    }
 }
@@ -0,0 +1,32 @@
+package com.myapp.todo;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Builds new tasks the way POST /todo/add does, for every path that creates
+ * them: appended to the end of their day, incomplete, and with the defaults
+ * for an unset repeat rule, priority and long-term flag. The id and
+ * changeVersion are assigned when the row is inserted.
+ *
+ * Call it on the SqliteWriter job that inserts the task, so dayOrders are
+ * handed out in insert order.
+ */
+@Component
+public class TodoItemFactory {
+
+    @Autowired
+    private DayOrderAllocator dayOrders;
+
+    public TodoItem newTask(LocalDate taskDate, String category, String name, TodoItem.RepeatPattern repeatType,
+            Integer repeatDuration, Integer priority, Boolean longTerm) {
+        TodoItem item = new TodoItem(taskDate, dayOrders.next(taskDate), category, name);
+        item.setRepeatType(repeatType != null ? repeatType : TodoItem.RepeatPattern.NONE);
+        item.setRepeatDuration(repeatDuration != null ? repeatDuration : 0);
+        item.setPriority(priority != null ? priority : 0);
+        item.setLongTerm(longTerm != null ? longTerm : false);
+        return item;
+    }
+}
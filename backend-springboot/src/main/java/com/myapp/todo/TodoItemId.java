@@ -0,0 +1,17 @@
+package com.myapp.todo;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the TodoItem id as allocated by {@link TodoItemIdGenerator}.
+ */
+@IdGeneratorType(TodoItemIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface TodoItemId {
+}
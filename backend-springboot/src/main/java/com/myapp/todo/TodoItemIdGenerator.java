@@ -0,0 +1,118 @@
+package com.myapp.todo;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Allocates TodoItem ids from the todo_item_seq table on the inserting
+ * transaction's own connection, {@link #BLOCK_SIZE} at a time. Ids are handed
+ * out from the reserved block in memory, so only one insert in a block pays
+ * for the two statements.
+ *
+ * Hibernate's default table-backed sequence increments the table from a second
+ * connection. On SQLite that second connection can never get the write lock
+ * while SqliteWriter holds a group transaction open, so each insert would
+ * stall until SQLITE_BUSY. Updating the row first takes the write lock, which
+ * keeps concurrent allocators from reading the same value.
+ *
+ * A reservation made in a transaction that later rolls back is undone in the
+ * table, so the rest of its block is dropped from memory too: every id handed
+ * out afterwards is covered by a committed reservation. Each reservation also
+ * starts no lower than the end of the last one, so the rolled-back ids are
+ * skipped, never reused.
+ *
+ * Ids left unused at shutdown are skipped too: every start reserves a fresh
+ * block, so with one save per run the ids go 1, 101, 201. On the next start
+ * TodoItemIdSequence also raises the table past every stored id.
+ */
+public class TodoItemIdGenerator implements IdentifierGenerator {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String TABLE = "todo_item_seq";
+
+    static final int BLOCK_SIZE = 100;
+
+    private static final String RESERVE = "update " + TABLE
+            + " set next_val = (case when next_val < ? then ? else next_val end) + ?";
+    private static final String SELECT = "select next_val from " + TABLE;
+
+    // Ids in [next, limit) are reserved and not yet handed out
+    private long next;
+    private long limit;
+
+    // End of the last reservation made by this generator
+    private long highWater;
+
+    @Override
+    public synchronized Object generate(SharedSessionContractImplementor session, Object object) {
+        if (next == limit) {
+            Connection connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+            next = reserve(connection, BLOCK_SIZE);
+            limit = next + BLOCK_SIZE;
+        }
+        return next++;
+    }
+
+    /**
+     * Reserves count consecutive ids on connection and returns the first. Used
+     * by bulk inserts that bypass Hibernate. The rest of the in-memory block is
+     * dropped, so later saves still get ids above the reserved ones.
+     *
+     * Safe only under the same discipline as generate: connection must carry
+     * the open SqliteWriter transaction that also inserts the rows, so the
+     * reservation commits or rolls back with them. Reserving in a transaction
+     * of its own would commit ids for rows that may never be written.
+     */
+    synchronized long reserve(Connection connection, int count) {
+        try (PreparedStatement reserve = connection.prepareStatement(RESERVE);
+                PreparedStatement select = connection.prepareStatement(SELECT)) {
+            reserve.setLong(1, highWater);
+            reserve.setLong(2, highWater);
+            reserve.setLong(3, count);
+            if (reserve.executeUpdate() != 1) {
+                throw new HibernateException(TABLE + " must contain exactly one row");
+            }
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                highWater = rs.getLong(1);
+                next = highWater;
+                limit = highWater;
+                discardOnRollback(highWater);
+                return highWater - count;
+            }
+        } catch (SQLException e) {
+            throw new HibernateException("Could not allocate TodoItem ids", e);
+        }
+    }
+
+    // Registered on the inserting transaction; without one the reservation commits on its own
+    private void discardOnRollback(long end) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    discard(end);
+                }
+            }
+        });
+    }
+
+    private synchronized void discard(long end) {
+        // A later reservation has already replaced this block
+        if (limit == end) {
+            next = limit;
+        }
+    }
+}
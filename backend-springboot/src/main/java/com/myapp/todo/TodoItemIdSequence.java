@@ -0,0 +1,46 @@
+package com.myapp.todo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes sure the todo_item_seq table used by {@link TodoItemIdGenerator} exists
+ * and is ahead of every stored id, including archived and deleted tasks, whose
+ * ids must not come back. Databases created under the old generated value
+ * strategy already have the table; its value is only ever raised.
+ */
+@Component
+public class TodoItemIdSequence {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoItemIdSequence.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected so the tables exist before this runs; the EntityManagerFactory waits for migrations
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void initialize() {
+        jdbcTemplate.execute("create table if not exists " + TodoItemIdGenerator.TABLE + " (next_val bigint)");
+        Long floor = jdbcTemplate.queryForObject("select max(id) + 1 from ("
+                + "select coalesce(max(id), 0) as id from todo_item"
+                + " union all select coalesce(max(id), 0) from archived_todo_item"
+                + " union all select coalesce(max(id), 0) from todo_tombstone) ids", Long.class);
+        Integer rows = jdbcTemplate.queryForObject("select count(*) from " + TodoItemIdGenerator.TABLE, Integer.class);
+        if (rows == null || rows == 0) {
+            jdbcTemplate.update("insert into " + TodoItemIdGenerator.TABLE + " (next_val) values (?)", floor);
+        } else {
+            jdbcTemplate.update("update " + TodoItemIdGenerator.TABLE + " set next_val = ? where next_val < ?",
+                    floor, floor);
+        }
+        logger.info("TodoItem ids continue from {}",
+                jdbcTemplate.queryForObject("select next_val from " + TodoItemIdGenerator.TABLE, Long.class));
+    }
+}
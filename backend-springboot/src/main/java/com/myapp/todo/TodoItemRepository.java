@@ -1,9 +1,29 @@
 package com.myapp.todo;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface TodoItemRepository extends CrudRepository<TodoItem, Long> {
     List<TodoItem> findByTaskDate(LocalDate taskDate);
-}
\ No newline at end of file
+
+    @Query("select coalesce(max(t.dayOrder), 0) from TodoItem t where t.taskDate = :taskDate")
+    int findMaxDayOrder(LocalDate taskDate);
+
+    // Keyset page: the next batch of tasks after the given id
+    List<TodoItem> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // The next batch of completed tasks dated before cutoff, for archival
+    List<TodoItem> findByCompleteTrueAndTaskDateBeforeOrderByIdAsc(LocalDate cutoff, Limit limit);
+
+    // One statement for a whole batch; deleteAll removes entities one at a time
+    @Modifying
+    @Query("delete from TodoItem t where t.id in :ids")
+    void deleteAllByIdIn(Collection<Long> ids);
+
+    List<TodoItem> findByChangeVersionGreaterThanOrderByChangeVersionAsc(Long changeVersion, Limit limit);
+}
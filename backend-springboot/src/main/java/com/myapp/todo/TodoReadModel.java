@@ -0,0 +1,385 @@
+package com.myapp.todo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory, date-indexed copy of every TodoItem, loaded from the database once
+ * and then kept current by TodoService after each committed mutation.
+ *
+ * Readers get an immutable snapshot through a single volatile read and never
+ * lock. Writers serialize on a lock, copy the date index, replace the one day
+ * list that changed and publish the new snapshot.
+ *
+ * That is the tradeoff for lock-free reads: every write costs O(days) to copy
+ * the index plus O(tasks that day) to rebuild the list, so bulk writers use
+ * putAll and removeAll to copy once per batch. And every task stays resident
+ * for the life of the process, so memory grows with the table. Windowed reads
+ * used to be a bounded range query against the database; now they are a
+ * subMap view, which is only fine while the whole table fits comfortably in
+ * the heap.
+ *
+ * The table is read once the application is ready, and again on reload,
+ * outside the write lock, so the SQLite writer's after-commit puts never wait
+ * on a full scan; changes that land meanwhile are recorded and replayed onto
+ * the fresh copy before it is published.
+ */
+@Component
+public class TodoReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoReadModel.class);
+
+    static final Comparator<TodoItem> DAY_ORDER = Comparator
+            .comparing(TodoItem::getDayOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TodoItem::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Autowired
+    private TodoItemRepository repository;
+
+    private final Object writeLock = new Object();
+
+    // Held while reading the table, so only one load runs at a time. Never taken by
+    // put or remove
+    private final Object scanLock = new Object();
+
+    // Date index published to readers; null until the first load finishes
+    private volatile NavigableMap<LocalDate, List<TodoItem>> snapshot;
+
+    // Guarded by writeLock; each task's latest copy (null once removed) since the running
+    // load started, or null when no load is running
+    private Map<Long, TodoItem> pending;
+
+    // id -> taskDate, only touched under writeLock so it needs no copy-on-write
+    private final Map<Long, LocalDate> datesById = new HashMap<>();
+
+    // Incomplete tasks with a repeat rule, published alongside the snapshot
+    private volatile List<TodoItem> recurring = List.of();
+
+    /**
+     * Days from..to inclusive; a null bound leaves that end of the window open.
+     */
+    public NavigableMap<LocalDate, List<TodoItem>> window(LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, List<TodoItem>> current = snapshot();
+        if (from == null && to == null) {
+            return current;
+        }
+        if (from == null) {
+            return current.headMap(to, true);
+        }
+        if (to == null) {
+            return current.tailMap(from, true);
+        }
+        if (from.isAfter(to)) {
+            return Collections.emptyNavigableMap();
+        }
+        return current.subMap(from, true, to, true);
+    }
+
+    public List<TodoItem> all() {
+        NavigableMap<LocalDate, List<TodoItem>> current = snapshot();
+        List<TodoItem> items = new ArrayList<>();
+        current.values().forEach(items::addAll);
+        return items;
+    }
+
+    /**
+     * Incomplete tasks with a repeat rule, whatever their date, so recurrence
+     * expansion does not have to scan every day.
+     */
+    public List<TodoItem> recurring() {
+        snapshot();
+        return Collections.unmodifiableList(recurring);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (snapshot != null) {
+            return;
+        }
+        synchronized (scanLock) {
+            if (snapshot == null) {
+                build();
+            }
+        }
+    }
+
+    public void put(TodoItem item) {
+        synchronized (writeLock) {
+            if (pending != null) {
+                pending.put(item.getId(), new TodoItem(item));
+            }
+            if (snapshot == null) {
+                return; // a load that has not started yet reads committed state from the database
+            }
+            NavigableMap<LocalDate, List<TodoItem>> next = new TreeMap<>(snapshot);
+            LocalDate previousDate = datesById.remove(item.getId());
+            if (previousDate != null) {
+                removeFromDay(next, previousDate, Set.of(item.getId()));
+            }
+            TodoItem copy = null;
+            if (item.getTaskDate() != null) {
+                copy = new TodoItem(item);
+                List<TodoItem> day = new ArrayList<>(next.getOrDefault(item.getTaskDate(), List.of()));
+                day.add(copy);
+                day.sort(DAY_ORDER);
+                next.put(item.getTaskDate(), List.copyOf(day));
+                datesById.put(item.getId(), item.getTaskDate());
+            }
+            replaceRecurring(item.getId(), copy);
+            snapshot = Collections.unmodifiableNavigableMap(next);
+        }
+    }
+
+    /**
+     * Same as calling {@link #put} for each item, but copies the date index
+     * and re-sorts each touched day once for the whole batch. Ids must be
+     * distinct within items.
+     */
+    public void putAll(Collection<TodoItem> items) {
+        synchronized (writeLock) {
+            if (pending != null) {
+                items.forEach(item -> pending.put(item.getId(), new TodoItem(item)));
+            }
+            if (snapshot == null) {
+                return;
+            }
+            NavigableMap<LocalDate, List<TodoItem>> next = new TreeMap<>(snapshot);
+            putInto(next, items);
+            snapshot = Collections.unmodifiableNavigableMap(next);
+        }
+    }
+
+    public void remove(Long id) {
+        synchronized (writeLock) {
+            if (pending != null) {
+                pending.put(id, null);
+            }
+            if (snapshot == null) {
+                return;
+            }
+            LocalDate previousDate = datesById.remove(id);
+            if (previousDate == null) {
+                return;
+            }
+            NavigableMap<LocalDate, List<TodoItem>> next = new TreeMap<>(snapshot);
+            removeFromDay(next, previousDate, Set.of(id));
+            replaceRecurring(id, null);
+            snapshot = Collections.unmodifiableNavigableMap(next);
+        }
+    }
+
+    /**
+     * Same as calling {@link #remove} for each id, but copies the date index
+     * and filters each touched day once for the whole batch.
+     */
+    public void removeAll(Collection<Long> ids) {
+        synchronized (writeLock) {
+            if (pending != null) {
+                ids.forEach(id -> pending.put(id, null));
+            }
+            if (snapshot == null) {
+                return;
+            }
+            Map<LocalDate, Set<Long>> removedByDate = forget(ids);
+            if (removedByDate.isEmpty()) {
+                return;
+            }
+            NavigableMap<LocalDate, List<TodoItem>> next = new TreeMap<>(snapshot);
+            removedByDate.forEach((date, dayIds) -> removeFromDay(next, date, dayIds));
+            dropRecurring(ids);
+            snapshot = Collections.unmodifiableNavigableMap(next);
+        }
+    }
+
+    /**
+     * Rebuilds the in-memory state from the database. Needed only when rows
+     * are changed behind TodoService's back. Readers keep the previous
+     * snapshot until the new one is published.
+     */
+    public void reload() {
+        synchronized (scanLock) {
+            build();
+        }
+    }
+
+    private NavigableMap<LocalDate, List<TodoItem>> snapshot() {
+        NavigableMap<LocalDate, List<TodoItem>> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        load();
+        return snapshot;
+    }
+
+    // Called with scanLock held. Each task changed while reading gets its latest copy put
+    // onto the result, so a commit that lands mid-read shows up whether or not the read saw it
+    private void build() {
+        synchronized (writeLock) {
+            pending = new HashMap<>();
+        }
+        Map<LocalDate, List<TodoItem>> days = new HashMap<>();
+        Map<Long, LocalDate> dates = new HashMap<>();
+        List<TodoItem> repeating = new ArrayList<>();
+        int skipped = 0;
+        try {
+            for (TodoItem item : repository.findAll()) {
+                if (item.getTaskDate() == null) {
+                    skipped++;
+                    continue;
+                }
+                TodoItem copy = new TodoItem(item);
+                days.computeIfAbsent(item.getTaskDate(), date -> new ArrayList<>()).add(copy);
+                dates.put(item.getId(), item.getTaskDate());
+                if (RecurrenceEngine.repeats(copy)) {
+                    repeating.add(copy);
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                pending = null;
+            }
+            throw e;
+        }
+        NavigableMap<LocalDate, List<TodoItem>> loaded = new TreeMap<>();
+        days.forEach((date, day) -> {
+            day.sort(DAY_ORDER);
+            loaded.put(date, List.copyOf(day));
+        });
+
+        synchronized (writeLock) {
+            datesById.clear();
+            datesById.putAll(dates);
+            recurring = List.copyOf(repeating);
+            List<TodoItem> changed = new ArrayList<>();
+            List<Long> removed = new ArrayList<>();
+            pending.forEach((id, item) -> {
+                if (item == null) {
+                    removed.add(id);
+                } else {
+                    changed.add(item);
+                }
+            });
+            pending = null;
+            forget(removed).forEach((date, dayIds) -> removeFromDay(loaded, date, dayIds));
+            dropRecurring(removed);
+            putInto(loaded, changed);
+            snapshot = Collections.unmodifiableNavigableMap(loaded);
+            logger.info("Loaded read model with {} tasks across {} dates", datesById.size(), loaded.size());
+        }
+        if (skipped > 0) {
+            logger.warn("Skipped {} tasks without a task date", skipped);
+        }
+    }
+
+    // Called with writeLock held. Adds copies of items to next, replacing any earlier
+    // version, and updates datesById and the recurring list to match
+    private void putInto(NavigableMap<LocalDate, List<TodoItem>> next, Collection<TodoItem> items) {
+        Map<LocalDate, List<TodoItem>> added = new HashMap<>();
+        Set<Long> ids = new HashSet<>();
+        List<TodoItem> repeating = new ArrayList<>();
+        for (TodoItem item : items) {
+            ids.add(item.getId());
+            LocalDate previousDate = datesById.remove(item.getId());
+            if (previousDate != null) {
+                removeFromDay(next, previousDate, Set.of(item.getId()));
+            }
+            if (item.getTaskDate() == null) {
+                continue;
+            }
+            TodoItem copy = new TodoItem(item);
+            added.computeIfAbsent(item.getTaskDate(), date -> new ArrayList<>()).add(copy);
+            datesById.put(item.getId(), item.getTaskDate());
+            if (RecurrenceEngine.repeats(copy)) {
+                repeating.add(copy);
+            }
+        }
+        added.forEach((date, copies) -> {
+            List<TodoItem> day = new ArrayList<>(next.getOrDefault(date, List.of()));
+            day.addAll(copies);
+            day.sort(DAY_ORDER);
+            next.put(date, List.copyOf(day));
+        });
+        List<TodoItem> nextRecurring = new ArrayList<>(recurring.size() + repeating.size());
+        for (TodoItem existing : recurring) {
+            if (!ids.contains(existing.getId())) {
+                nextRecurring.add(existing);
+            }
+        }
+        nextRecurring.addAll(repeating);
+        recurring = List.copyOf(nextRecurring);
+    }
+
+    // Called with writeLock held. Drops ids from datesById and returns them by the date
+    // they were on
+    private Map<LocalDate, Set<Long>> forget(Collection<Long> ids) {
+        Map<LocalDate, Set<Long>> removedByDate = new HashMap<>();
+        for (Long id : ids) {
+            LocalDate previousDate = datesById.remove(id);
+            if (previousDate != null) {
+                removedByDate.computeIfAbsent(previousDate, date -> new HashSet<>()).add(id);
+            }
+        }
+        return removedByDate;
+    }
+
+    private void dropRecurring(Collection<Long> ids) {
+        Set<Long> removed = new HashSet<>(ids);
+        if (recurring.stream().anyMatch(existing -> removed.contains(existing.getId()))) {
+            recurring = recurring.stream().filter(existing -> !removed.contains(existing.getId())).toList();
+        }
+    }
+
+    // Drops id from the recurring list and adds replacement if it still repeats
+    private void replaceRecurring(Long id, TodoItem replacement) {
+        boolean repeats = replacement != null && RecurrenceEngine.repeats(replacement);
+        if (!repeats && recurring.stream().noneMatch(existing -> existing.getId().equals(id))) {
+            return;
+        }
+        List<TodoItem> next = new ArrayList<>(recurring.size() + 1);
+        for (TodoItem existing : recurring) {
+            if (!existing.getId().equals(id)) {
+                next.add(existing);
+            }
+        }
+        if (repeats) {
+            next.add(replacement);
+        }
+        recurring = List.copyOf(next);
+    }
+
+    private static void removeFromDay(NavigableMap<LocalDate, List<TodoItem>> days, LocalDate date,
+            Set<Long> ids) {
+        List<TodoItem> day = days.get(date);
+        if (day == null) {
+            return;
+        }
+        List<TodoItem> remaining = new ArrayList<>(day.size());
+        for (TodoItem existing : day) {
+            if (!ids.contains(existing.getId())) {
+                remaining.add(existing);
+            }
+        }
+        if (remaining.isEmpty()) {
+            days.remove(date);
+        } else {
+            days.put(date, List.copyOf(remaining));
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package com.myapp.todo;
 
+import com.myapp.todo.dto.ChangeEvent;
+import com.myapp.todo.dto.ImportResult;
+import com.myapp.todo.dto.TimeSeries;
+import com.myapp.todo.dto.TodoChanges;
+import com.myapp.todo.dto.TodoFieldUpdate;
 import com.myapp.todo.dto.TodoOperationResult;
+import com.myapp.todo.dto.TodoStats;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
 
 import org.springframework.web.bind.annotation.*;
 
@@ -11,19 +23,97 @@ import org.springframework.web.bind.annotation.*;
 public class TodoRestController {
 
     @Autowired
-    private TodoItemRepository repository; // Kept for the getAll() method as per the provided Code Edit
+    private TodoService todoService;
 
     @Autowired
-    private TodoService todoService;
+    private DataVersion dataVersion;
+
+    @Autowired
+    private ChangeEventStream events;
 
     @GetMapping("/allbydate")
-    public @ResponseBody GroupedTodoItems getAllByDate() {
-        return todoService.getGroupedByDate();
+    public @ResponseBody GroupedTodoItems getAllByDate(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean expand,
+            WebRequest request) {
+        // Projections for an open window move at midnight without any mutation
+        String etag = expand && (from == null || to == null) ? dataVersion.etag(LocalDate.now())
+                : dataVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return null; // 304 already written
+        }
+        return todoService.getGroupedByDate(from, to, expand);
     }
 
     @GetMapping("/all")
-    public @ResponseBody Iterable<TodoItem> getAll() {
-        return repository.findAll();
+    public @ResponseBody Iterable<TodoItem> getAll(WebRequest request) {
+        if (request.checkNotModified(dataVersion.etag())) {
+            return null; // 304 already written
+        }
+        return todoService.getAll();
+    }
+
+    @GetMapping("/changes")
+    public @ResponseBody TodoChanges getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return todoService.getChangesSince(since, limit);
+    }
+
+    @GetMapping("/history")
+    public @ResponseBody List<TodoItem> getHistory(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(defaultValue = "500") int limit) {
+        return todoService.getHistory(from, to, limit);
+    }
+
+    @GetMapping("/search")
+    public @ResponseBody List<TodoItem> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return todoService.search(q, limit);
+    }
+
+    @GetMapping("/stats")
+    public @ResponseBody TodoStats getStats(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            WebRequest request) {
+        if (request.checkNotModified(dataVersion.etag())) {
+            return null; // 304 already written
+        }
+        return todoService.getStats(from, to);
+    }
+
+    @GetMapping("/stats/time")
+    public @ResponseBody TimeSeries getTimeSeries(
+            @RequestParam(defaultValue = "DAY") TodoStatistics.Period period,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            WebRequest request) {
+        // The default range ends today, so it moves at midnight
+        String etag = from == null || to == null ? dataVersion.etag(LocalDate.now()) : dataVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return null; // 304 already written
+        }
+        return todoService.getTimeSeries(period, from, to);
+    }
+
+    @PostMapping("/stats/rebuild")
+    public boolean rebuildStats() {
+        return todoService.rebuildStats();
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChangeEvent>> streamEvents() {
+        return events.subscribe();
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TodoItem> exportAll() {
+        return todoService.exportAll();
     }
 
     @PostMapping("/add")
@@ -47,6 +137,29 @@ public class TodoRestController {
         return todoService.updateTaskField(id, field, value);
     }
 
+    @PostMapping("/move")
+    public @ResponseBody TodoOperationResult moveItem(
+            @RequestParam long id,
+            @RequestParam LocalDate taskDate,
+            @RequestParam int index) {
+        return todoService.moveTask(id, taskDate, index);
+    }
+
+    @PostMapping("/update/batch")
+    public @ResponseBody List<TodoOperationResult> updateItems(@RequestBody List<TodoFieldUpdate> updates) {
+        return todoService.updateTaskFields(updates);
+    }
+
+    @PostMapping(path = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public @ResponseBody ImportResult importJson(InputStream body) {
+        return todoService.importJson(body);
+    }
+
+    @PostMapping(path = "/import", consumes = "text/csv")
+    public @ResponseBody ImportResult importCsv(InputStream body) {
+        return todoService.importCsv(body);
+    }
+
     @DeleteMapping("/delete/{id}")
     public boolean delete(@PathVariable Long id) {
         return todoService.deleteTask(id);
@@ -0,0 +1,56 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.CategoryStats;
+import com.myapp.todo.dto.ChangeEvent;
+import com.myapp.todo.dto.ImportResult;
+import com.myapp.todo.dto.ScratchpadEdit;
+import com.myapp.todo.dto.ScratchpadPatchResult;
+import com.myapp.todo.dto.TimeSeries;
+import com.myapp.todo.dto.TimeSpent;
+import com.myapp.todo.dto.TodoChanges;
+import com.myapp.todo.dto.TodoFieldUpdate;
+import com.myapp.todo.dto.TodoOperationResult;
+import com.myapp.todo.dto.TodoStats;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Reachability metadata for the native image (./mvnw -Pnative). Spring AOT
+ * already covers beans, repositories and the types named in controller
+ * signatures; these are the classes reached only by reflection besides.
+ *
+ * sqlite-jdbc ships its own metadata and a native-image feature that bundles
+ * the JNI library, so it needs nothing here.
+ */
+class TodoRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Read and written through Jackson, also as values nested in other responses and events
+        bindings.registerReflectionHints(hints.reflection(), TodoItem.class, Scratchpad.class,
+                CategoryStats.class, ChangeEvent.class, ImportResult.class, ScratchpadEdit.class,
+                ScratchpadPatchResult.class, TimeSeries.class, TimeSpent.class, TodoChanges.class,
+                TodoFieldUpdate.class, TodoOperationResult.class, TodoStats.class);
+
+        // Entity state is accessed field by field by Hibernate
+        for (Class<?> entity : new Class<?>[] { TodoItem.class, ArchivedTodoItem.class, TodoTombstone.class,
+                Scratchpad.class, ScratchpadPatch.class }) {
+            hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+
+        // Instantiated by class name: converters and the id generator by Hibernate, the serializer by Jackson
+        for (Class<?> type : new Class<?>[] { LocalDateStringConverter.class, LocalTimeStringConverter.class,
+                TodoItemIdGenerator.class, TodoChangeListener.class, GroupedTodoItemsSerializer.class }) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.reflection().registerType(TypeReference.of("org.hibernate.community.dialect.SQLiteDialect"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
@@ -0,0 +1,114 @@
+package com.myapp.todo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Full-text search over task names and categories.
+ *
+ * On SQLite this is an FTS5 table that reads its text from todo_item (so the
+ * text is not stored twice) and is kept in sync by triggers, which cover every
+ * write path including raw JDBC. The table and triggers come from the Flyway
+ * migration V4__task_search. Results are ranked by bm25 with name matches
+ * weighted over category matches. Other databases (H2 in tests), and SQLite
+ * schemas not built by the migrations, fall back to an unranked LIKE scan,
+ * newest first.
+ *
+ * Every word of a query is matched as a prefix and all words must match, so
+ * "rep wo" finds "Write report" in "Work".
+ */
+@Component
+public class TodoSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoSearchIndex.class);
+
+    static final int MAX_RESULTS = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected so the migrations have run before initialize() looks for the index
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private boolean fullText;
+
+    @PostConstruct
+    void initialize() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"SQLite".equalsIgnoreCase(product)) {
+            logger.info("Task search uses LIKE scans on {}", product);
+            return;
+        }
+        Integer indexes = jdbcTemplate.queryForObject(
+                "select count(*) from sqlite_master where type = 'table' and name = 'todo_item_fts'", Integer.class);
+        fullText = indexes != null && indexes > 0;
+        if (!fullText) {
+            logger.warn("No todo_item_fts table (schema not migrated), task search falls back to LIKE scans");
+        }
+    }
+
+    /**
+     * Ids of the tasks matching query, best match first.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return fullText ? matchFullText(terms, limit) : matchLike(terms, limit);
+    }
+
+    private List<Long> matchFullText(List<String> terms, int limit) {
+        StringBuilder match = new StringBuilder();
+        for (String term : terms) {
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            match.append('"').append(term).append("\"*");
+        }
+        return jdbcTemplate.queryForList("select rowid from todo_item_fts where todo_item_fts match ? "
+                + "order by bm25(todo_item_fts, 2.0, 1.0) limit ?", Long.class, match.toString(), limit);
+    }
+
+    private List<Long> matchLike(List<String> terms, int limit) {
+        StringBuilder sql = new StringBuilder("select id from todo_item where 1 = 1");
+        List<Object> args = new ArrayList<>();
+        for (String term : terms) {
+            sql.append(" and (lower(name) like ? or lower(category) like ?)");
+            args.add("%" + term + "%");
+            args.add("%" + term + "%");
+        }
+        sql.append(" order by task_date desc, id desc limit ?");
+        args.add(limit);
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+
+    /**
+     * The query's words, lower-cased. Anything but letters and digits separates
+     * words, so a term can never carry FTS5 syntax or LIKE wildcards.
+     */
+    static List<String> terms(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String word : query.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                terms.add(word.toLowerCase(Locale.ROOT));
+            }
+        }
+        return terms;
+    }
+}
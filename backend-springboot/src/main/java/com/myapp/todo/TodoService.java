@@ -1,18 +1,37 @@
 package com.myapp.todo;
 
+import com.myapp.todo.dto.TodoChanges;
+import com.myapp.todo.dto.TodoFieldUpdate;
+import com.myapp.todo.dto.ImportResult;
+import com.myapp.todo.dto.TimeSeries;
 import com.myapp.todo.dto.TodoOperationResult;
+import com.myapp.todo.dto.TodoStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-import java.util.Comparator;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.LinkedHashMap;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 @Service
 public class TodoService {
@@ -22,52 +41,268 @@ public class TodoService {
     @Autowired
     private TodoItemRepository repository;
 
+    @Autowired
+    private TodoReadModel readModel;
+
+    @Autowired
+    private SqliteWriter writer;
+
+    @Autowired
+    private DayOrderAllocator dayOrders;
+
+    @Autowired
+    private TodoItemFactory tasks;
+
+    @Autowired
+    private RecurrenceEngine recurrences;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private TodoTombstoneRepository tombstones;
+
+    // Tombstones are always new rows with the task's id; persisting skips the SELECT a merge would run
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private ChangeEventStream events;
+
+    @Autowired
+    private TodoSearchIndex searchIndex;
+
+    @Autowired
+    private TodoStatistics statistics;
+
+    @Autowired
+    private ArchivedTodoItemRepository archive;
+
+    @Autowired
+    private TodoImporter importer;
+
+    // Range recurring tasks are projected over when expand leaves an end of the window open
+    private static final int DEFAULT_DAYS_BEFORE = 30;
+    private static final int DEFAULT_DAYS_AFTER = 30;
+
+    static final int EXPORT_PAGE_SIZE = 500;
+
+    static final int MAX_CHANGES_PAGE = 500;
+
+    static final int MAX_HISTORY_PAGE = 1000;
+
+    // Fields applyField understands; anything else is tagged "other" in metrics
+    private static final Set<String> UPDATABLE_FIELDS = Set.of("taskName", "category", "taskDate", "dayOrder",
+            "complete", "priority", "repeatType", "repeatDuration", "assignedTime", "inProgress", "longTerm",
+            "timeTaken");
+
     public GroupedTodoItems getGroupedByDate() {
-        Iterable<TodoItem> todoList = repository.findAll();
-        Map<String, List<TodoItem>> itemsByDate = StreamSupport.stream(todoList.spliterator(), false)
-                .collect(Collectors.groupingBy(
-                        item -> item.getTaskDate().toString(),
-                        Collectors.collectingAndThen(
-                                Collectors.toList(),
-                                list -> {
-                                    list.sort(Comparator.comparingInt(TodoItem::getDayOrder));
-                                    return list;
-                                })));
-
-        // Sort the map by date
-        Map<String, List<TodoItem>> sortedItemsByDate = itemsByDate.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .collect(Collectors.toMap(
-                        entry -> entry.getKey(), // Explicitly call getKey()
-                        entry -> entry.getValue(), // Explicitly call getValue()
-                        (oldValue, newValue) -> oldValue, // Merge function to handle collisions
-                        LinkedHashMap::new // Supplier that produces a new LinkedHashMap
-                ));
-
-        GroupedTodoItems response = new GroupedTodoItems();
-        response.setItemsByDate(sortedItemsByDate);
-        return response;
+        return getGroupedByDate(null, null);
     }
 
-    public TodoOperationResult addTask(String category, String name, LocalDate taskDate,
-            TodoItem.RepeatPattern repeatType, Integer repeatDuration, Integer priority, Boolean longTerm) {
-        // Calculate next order for the task date
-        List<TodoItem> existingTasks = repository.findByTaskDate(taskDate);
-        int nextOrder = existingTasks.size() + 1;
+    public GroupedTodoItems getGroupedByDate(LocalDate from, LocalDate to) {
+        return getGroupedByDate(from, to, false);
+    }
+
+    /**
+     * Groups the window's tasks by date. A missing from or to leaves that end
+     * open, so a plain request still returns every stored task, including
+     * incomplete ones of any age. With expand, each day also lists the
+     * projected occurrences of recurring tasks (marked virtual) after its
+     * stored tasks; an open end projects them only 30 days from today.
+     */
+    public GroupedTodoItems getGroupedByDate(LocalDate from, LocalDate to, boolean expand) {
+        // The read model keeps days sorted by date and each day sorted by dayOrder, and its
+        // window is an immutable view, so the response can be written straight from it
+        NavigableMap<LocalDate, List<TodoItem>> window = readModel.window(from, to);
+        if (expand) {
+            LocalDate today = LocalDate.now();
+            window = withOccurrences(window,
+                    from != null ? from : today.minusDays(DEFAULT_DAYS_BEFORE),
+                    to != null ? to : today.plusDays(DEFAULT_DAYS_AFTER));
+        }
+        return new GroupedTodoItems(window);
+    }
+
+    private NavigableMap<LocalDate, List<TodoItem>> withOccurrences(
+            NavigableMap<LocalDate, List<TodoItem>> window, LocalDate from, LocalDate to) {
+        List<TodoItem> recurring = new ArrayList<>(readModel.recurring());
+        if (recurring.isEmpty()) {
+            return window;
+        }
+        recurring.sort(TodoReadModel.DAY_ORDER);
+        NavigableMap<LocalDate, List<TodoItem>> expanded = new TreeMap<>(window);
+        for (TodoItem item : recurring) {
+            for (LocalDate date : recurrences.occurrences(item, from, to)) {
+                List<TodoItem> day = expanded.get(date);
+                // Skip dates where the next occurrence already exists as a row
+                if (day != null && day.stream().anyMatch(existing -> !existing.isVirtual()
+                        && Objects.equals(existing.getName(), item.getName())
+                        && Objects.equals(existing.getCategory(), item.getCategory()))) {
+                    continue;
+                }
+                TodoItem occurrence = new TodoItem(item);
+                occurrence.setTaskDate(date);
+                occurrence.setVirtual(true);
+                List<TodoItem> grown = new ArrayList<>(day == null ? List.of() : day);
+                grown.add(occurrence);
+                expanded.put(date, grown);
+            }
+        }
+        return expanded;
+    }
+
+    public List<TodoItem> getAll() {
+        return readModel.all();
+    }
+
+    /**
+     * Archived tasks dated from..to in date and dayOrder order, at most limit
+     * of them (capped at 1000); narrow the range to see past a full page.
+     */
+    public List<TodoItem> getHistory(LocalDate from, LocalDate to, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE));
+        return archive.findByTaskDateBetweenOrderByTaskDateAscDayOrderAscIdAsc(from, to, Limit.of(pageSize))
+                .stream().map(ArchivedTodoItem::toTodoItem).toList();
+    }
+
+    /**
+     * Tasks whose name or category match every word of query as a prefix, best
+     * match first, at most limit of them (capped at 100).
+     */
+    public List<TodoItem> search(String query, int limit) {
+        List<Long> ids = searchIndex.search(query, Math.max(1, Math.min(limit, TodoSearchIndex.MAX_RESULTS)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TodoItem> itemsById = new HashMap<>();
+        repository.findAllById(ids).forEach(item -> itemsById.put(item.getId(), item));
+        return ids.stream().map(itemsById::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Counts, completion and timeTaken totals for the tasks dated from..to, per
+     * category, read from counters kept up to date on every mutation.
+     */
+    public TodoStats getStats(LocalDate from, LocalDate to) {
+        return statistics.stats(from, to);
+    }
+
+    /**
+     * Time spent on completed tasks per day or week and category, from the
+     * rollups kept alongside the statistics. Defaults to the year up to today.
+     */
+    public TimeSeries getTimeSeries(TodoStatistics.Period period, LocalDate from, LocalDate to) {
+        if (to == null) {
+            to = LocalDate.now();
+        }
+        if (from == null) {
+            from = to.minusYears(1).plusDays(1);
+        }
+        return statistics.timeSeries(period, from, to);
+    }
+
+    /**
+     * Recounts the statistics from the database; returns whether the kept
+     * counters already matched.
+     */
+    public boolean rebuildStats() {
+        boolean consistent = statistics.rebuild();
+        if (!consistent) {
+            // The counters changed, so cached /stats responses are stale
+            dataVersion.bump();
+        }
+        return consistent;
+    }
+
+    /**
+     * Streams every task in id order, reading keyset pages on demand so only
+     * one page is held in memory however large the table is.
+     */
+    public Flux<TodoItem> exportAll() {
+        return Flux.<List<TodoItem>, Long>generate(() -> 0L, (lastId, sink) -> {
+            List<TodoItem> page = repository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(EXPORT_PAGE_SIZE));
+            if (page.isEmpty()) {
+                sink.complete();
+                return lastId;
+            }
+            sink.next(page);
+            return page.get(page.size() - 1).getId();
+        })
+                .flatMapIterable(page -> page)
+                // Off the request thread, so each page gets a short-lived persistence
+                // context instead of accumulating in the open-in-view one
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 
-        // Create and populate the task
-        TodoItem item = new TodoItem(taskDate, nextOrder, category, name);
-        item.setRepeatType(repeatType != null ? repeatType : TodoItem.RepeatPattern.NONE);
-        item.setRepeatDuration(repeatDuration != null ? repeatDuration : 0);
-        item.setPriority(priority != null ? priority : 0);
-        item.setLongTerm(longTerm != null ? longTerm : false);
+    /**
+     * Tasks written and tasks deleted after version since, merged in version
+     * order and cut at limit entries. The returned version is the last one
+     * included (since itself when nothing is newer), never a version that may
+     * still be uncommitted on the writer. Both queries run in one read
+     * transaction so a group committing in between cannot be half seen.
+     */
+    @Transactional(readOnly = true)
+    public TodoChanges getChangesSince(long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE));
+        List<TodoItem> written = repository.findByChangeVersionGreaterThanOrderByChangeVersionAsc(since,
+                Limit.of(pageSize + 1));
+        List<TodoTombstone> removed = tombstones.findByChangeVersionGreaterThanOrderByChangeVersionAsc(since,
+                Limit.of(pageSize + 1));
 
-        TodoItem saved = repository.save(item);
-        logger.info("Created new task with id: {}", saved.getId());
-        return new TodoOperationResult("Added", saved);
+        List<TodoItem> items = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        long version = since;
+        int w = 0;
+        int r = 0;
+        while (items.size() + deleted.size() < pageSize && (w < written.size() || r < removed.size())) {
+            boolean takeWritten = r >= removed.size() || (w < written.size()
+                    && written.get(w).getChangeVersion() < removed.get(r).getChangeVersion());
+            if (takeWritten) {
+                TodoItem item = written.get(w++);
+                items.add(item);
+                version = item.getChangeVersion();
+            } else {
+                TodoTombstone tombstone = removed.get(r++);
+                deleted.add(tombstone.getId());
+                version = tombstone.getChangeVersion();
+            }
+        }
+        boolean hasMore = w < written.size() || r < removed.size();
+        return new TodoChanges(version, items, deleted, hasMore);
+    }
+
+    public TodoOperationResult addTask(String category, String name, LocalDate taskDate,
+            TodoItem.RepeatPattern repeatType, Integer repeatDuration, Integer priority, Boolean longTerm) {
+        return writer.execute(() -> {
+            TodoItem item = tasks.newTask(taskDate, category, name, repeatType, repeatDuration, priority, longTerm);
+            TodoItem saved = repository.save(item);
+            writer.afterCommit(() -> publish(saved));
+            logger.info("Created new task with id: {}", saved.getId());
+            return new TodoOperationResult("Added", saved);
+        });
     }
 
     public TodoOperationResult updateTaskField(long id, String field, String value) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // Stays "error" when the write throws, e.g. the database rejects the commit
+        String outcome = "error";
+        try {
+            TodoOperationResult result = writer.execute(() -> applyTaskField(id, field, value));
+            outcome = updateOutcome(result);
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer("todo.update", updateTags(field, outcome)));
+        }
+    }
+
+    private TodoOperationResult applyTaskField(long id, String field, String value) {
         Optional<TodoItem> optItem = repository.findById(id);
         if (optItem.isEmpty()) {
             logger.warn("Attempted to update non-existent task with id: {}", id);
@@ -76,54 +311,14 @@ public class TodoService {
 
         TodoItem item = optItem.get();
         try {
-            switch (field) {
-                case "taskName":
-                    item.setName(value);
-                    break;
-                case "category":
-                    item.setCategory(value);
-                    break;
-                case "taskDate":
-                    item.setTaskDate(LocalDate.parse(value));
-                    break;
-                case "dayOrder":
-                    item.setDayOrder(Integer.parseInt(value));
-                    break;
-                case "complete":
-                    item.setComplete(Boolean.parseBoolean(value));
-                    // Set assignedTime to current time when marking as complete
-                    if (Boolean.parseBoolean(value)) {
-                        item.setAssignedTime(
-                                java.time.ZonedDateTime.now(java.time.ZoneId.of("Asia/Kolkata")).toLocalTime());
-                    }
-                    break;
-                case "priority":
-                    item.setPriority(Integer.parseInt(value));
-                    break;
-                case "repeatType":
-                    item.setRepeatType(TodoItem.RepeatPattern.valueOf(value));
-                    break;
-                case "repeatDuration":
-                    item.setRepeatDuration(Integer.parseInt(value));
-                    break;
-                case "assignedTime":
-                    item.setAssignedTime(value.equals("null") ? null : java.time.LocalTime.parse(value));
-                    break;
-                case "inProgress":
-                    item.setInProgress(Boolean.parseBoolean(value));
-                    break;
-                case "longTerm":
-                    item.setLongTerm(Boolean.parseBoolean(value));
-                    break;
-                case "timeTaken":
-                    item.setTimeTaken(Long.parseLong(value));
-                    break;
-                default:
-                    logger.warn("Invalid field update attempted: {}", field);
-                    return new TodoOperationResult("Error: Invalid field", null);
+            if (!applyField(item, field, value)) {
+                logger.warn("Invalid field update attempted: {}", field);
+                return new TodoOperationResult("Error: Invalid field", null);
             }
 
             TodoItem savedItem = repository.save(item);
+            dayOrders.observe(savedItem.getTaskDate(), savedItem.getDayOrder());
+            writer.afterCommit(() -> publish(savedItem));
             logger.info("Updated task {} field: {}", id, field);
             return new TodoOperationResult("Updated", savedItem);
         } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
@@ -132,16 +327,230 @@ public class TodoService {
         }
     }
 
-    public boolean deleteTask(Long id) {
+    /**
+     * Moves a task to position index within taskDate's list (0 is first). The
+     * task takes the midpoint of its new neighbours' orders, so normally only
+     * the moved row is written; the day is renumbered only when no gap is left.
+     */
+    public TodoOperationResult moveTask(long id, LocalDate taskDate, int index) {
+        return writer.execute(() -> applyMove(id, taskDate, index));
+    }
+
+    private TodoOperationResult applyMove(long id, LocalDate taskDate, int index) {
         Optional<TodoItem> optItem = repository.findById(id);
-        if (optItem.isPresent()) {
-            TodoItem item = optItem.get();
-            repository.deleteById(id);
-            logger.info("Deleted task with id: {}", id);
-            return item.isComplete();
+        if (optItem.isEmpty()) {
+            logger.warn("Attempted to move non-existent task with id: {}", id);
+            return new TodoOperationResult("Error: Item not found", null);
+        }
+        TodoItem item = optItem.get();
+
+        List<TodoItem> day = new ArrayList<>(repository.findByTaskDate(taskDate));
+        day.removeIf(other -> other.getId().equals(id));
+        day.sort(TodoReadModel.DAY_ORDER);
+        int position = Math.max(0, Math.min(index, day.size()));
+
+        TodoItem before = position > 0 ? day.get(position - 1) : null;
+        TodoItem after = position < day.size() ? day.get(position) : null;
+        Integer order = null;
+        if (before == null || before.getDayOrder() != null) {
+            order = DayOrderAllocator.between(
+                    before == null ? null : before.getDayOrder(),
+                    after == null ? null : after.getDayOrder());
+        }
+
+        item.setTaskDate(taskDate);
+        List<TodoItem> touched;
+        if (order != null) {
+            item.setDayOrder(order);
+            touched = List.of(item);
         } else {
-            logger.warn("Attempted to delete non-existent task with id: {}", id);
-            return false;
+            day.add(position, item);
+            for (int i = 0; i < day.size(); i++) {
+                day.get(i).setDayOrder((i + 1) * DayOrderAllocator.GAP);
+            }
+            touched = day;
+            logger.info("Rebalanced dayOrder for {} tasks on {}", day.size(), taskDate);
+        }
+        // Loaded entities are managed, so dirty checking writes only the rows that changed
+        dayOrders.observe(taskDate, touched.get(touched.size() - 1).getDayOrder());
+        writer.afterCommit(() -> touched.forEach(this::publish));
+        logger.info("Moved task {} to {} at position {}", id, taskDate, position);
+        return new TodoOperationResult("Updated", item);
+    }
+
+    /**
+     * Applies a list of single-field updates in one transaction, loading each
+     * task once. Results are returned in request order, one per update.
+     */
+    public List<TodoOperationResult> updateTaskFields(List<TodoFieldUpdate> updates) {
+        if (updates.isEmpty()) {
+            return List.of();
         }
+        List<TodoOperationResult> results = writer.execute(() -> applyFieldUpdates(updates));
+        for (int i = 0; i < updates.size(); i++) {
+            meterRegistry.counter("todo.update.batch.fields",
+                    updateTags(updates.get(i).getField(), updateOutcome(results.get(i))))
+                    .increment();
+        }
+        return results;
+    }
+
+    private List<TodoOperationResult> applyFieldUpdates(List<TodoFieldUpdate> updates) {
+        Set<Long> ids = new HashSet<>();
+        for (TodoFieldUpdate update : updates) {
+            if (update.getId() != null) {
+                ids.add(update.getId());
+            }
+        }
+        Map<Long, TodoItem> itemsById = new HashMap<>();
+        repository.findAllById(ids).forEach(item -> itemsById.put(item.getId(), item));
+
+        // Loaded entities are managed, so dirty checking writes them once at commit
+        Map<Long, TodoItem> touched = new LinkedHashMap<>();
+        List<TodoOperationResult> results = new ArrayList<>(updates.size());
+        for (TodoFieldUpdate update : updates) {
+            TodoItem item = update.getId() == null ? null : itemsById.get(update.getId());
+            if (item == null) {
+                logger.warn("Attempted to update non-existent task with id: {}", update.getId());
+                results.add(new TodoOperationResult("Error: Item not found", null));
+                continue;
+            }
+            if (update.getField() == null || update.getValue() == null) {
+                results.add(new TodoOperationResult("Error: Missing field or value", null));
+                continue;
+            }
+            try {
+                if (applyField(item, update.getField(), update.getValue())) {
+                    dayOrders.observe(item.getTaskDate(), item.getDayOrder());
+                    touched.put(item.getId(), item);
+                    results.add(new TodoOperationResult("Updated", item));
+                } else {
+                    logger.warn("Invalid field update attempted: {}", update.getField());
+                    results.add(new TodoOperationResult("Error: Invalid field", null));
+                }
+            } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+                logger.error("Error updating task {}: {}", item.getId(), e.getMessage());
+                results.add(new TodoOperationResult("Error: " + e.getMessage(), null));
+            }
+        }
+        writer.afterCommit(() -> touched.values().forEach(this::publish));
+        logger.info("Applied {} field updates to {} tasks", updates.size(), touched.size());
+        return results;
+    }
+
+    private static String updateOutcome(TodoOperationResult result) {
+        String status = result.getStatus();
+        if ("Updated".equals(status)) {
+            return "updated";
+        } else if ("Error: Item not found".equals(status)) {
+            return "not_found";
+        } else if ("Error: Invalid field".equals(status) || "Error: Missing field or value".equals(status)) {
+            return "invalid_field";
+        }
+        return "invalid_value";
+    }
+
+    private static Tags updateTags(String field, String outcome) {
+        return Tags.of("field", field != null && UPDATABLE_FIELDS.contains(field) ? field : "other",
+                "outcome", outcome);
+    }
+
+    // Runs after commit: refreshes the read model and statistics, drops a stale expansion,
+    // bumps the ETag and pushes the change to open event streams
+    private void publish(TodoItem item) {
+        readModel.put(item);
+        statistics.put(item);
+        if (!RecurrenceEngine.repeats(item)) {
+            recurrences.evict(item.getId());
+        }
+        dataVersion.bump();
+        events.taskSaved(item);
+    }
+
+    // Parses value for the named field and sets it; returns false for an unknown field
+    private boolean applyField(TodoItem item, String field, String value) {
+        switch (field) {
+            case "taskName":
+                item.setName(value);
+                return true;
+            case "category":
+                item.setCategory(value);
+                return true;
+            case "taskDate":
+                item.setTaskDate(LocalDate.parse(value));
+                return true;
+            case "dayOrder":
+                item.setDayOrder(Integer.parseInt(value));
+                return true;
+            case "complete":
+                item.setComplete(Boolean.parseBoolean(value));
+                // Set assignedTime to current time when marking as complete
+                if (Boolean.parseBoolean(value)) {
+                    item.setAssignedTime(
+                            java.time.ZonedDateTime.now(java.time.ZoneId.of("Asia/Kolkata")).toLocalTime());
+                }
+                return true;
+            case "priority":
+                item.setPriority(Integer.parseInt(value));
+                return true;
+            case "repeatType":
+                item.setRepeatType(TodoItem.RepeatPattern.valueOf(value));
+                return true;
+            case "repeatDuration":
+                item.setRepeatDuration(Integer.parseInt(value));
+                return true;
+            case "assignedTime":
+                item.setAssignedTime(value.equals("null") ? null : java.time.LocalTime.parse(value));
+                return true;
+            case "inProgress":
+                item.setInProgress(Boolean.parseBoolean(value));
+                return true;
+            case "longTerm":
+                item.setLongTerm(Boolean.parseBoolean(value));
+                return true;
+            case "timeTaken":
+                item.setTimeTaken(Long.parseLong(value));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Adds every task in a JSON array or newline-delimited JSON body, written
+     * in large batched transactions rather than one per task.
+     */
+    public ImportResult importJson(InputStream input) {
+        return importer.importJson(input);
+    }
+
+    /**
+     * Adds every task in a CSV body whose header row names the columns.
+     */
+    public ImportResult importCsv(InputStream input) {
+        return importer.importCsv(input);
+    }
+
+    public boolean deleteTask(Long id) {
+        return writer.execute(() -> {
+            Optional<TodoItem> optItem = repository.findById(id);
+            if (optItem.isPresent()) {
+                TodoItem item = optItem.get();
+                repository.deleteById(id);
+                entityManager.persist(new TodoTombstone(id, changeVersions.next()));
+                writer.afterCommit(() -> {
+                    readModel.remove(id);
+                    statistics.remove(id);
+                    recurrences.evict(id);
+                    dataVersion.bump();
+                    events.taskDeleted(id);
+                });
+                logger.info("Deleted task with id: {}", id);
+                return item.isComplete();
+            } else {
+                logger.warn("Attempted to delete non-existent task with id: {}", id);
+                return false;
+            }
+        });
     }
 }
\ No newline at end of file
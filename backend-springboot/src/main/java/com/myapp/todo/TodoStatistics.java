@@ -0,0 +1,341 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.CategoryStats;
+import com.myapp.todo.dto.TimeSeries;
+import com.myapp.todo.dto.TimeSpent;
+import com.myapp.todo.dto.TodoStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Task counts per date and category, counted from the database once at
+ * startup and then adjusted by TodoService after each committed mutation, so
+ * a statistics query only reads counters. A range query adds up one counter
+ * per date and category in the range; the all-time query reads the
+ * per-category totals directly. The same counters are also kept per week, so
+ * a year of weekly time spent is at most 53 entries.
+ *
+ * The day and week rollups live only in memory. Every start counts them again
+ * from the hot table and the whole archive, so that count grows with all of
+ * history rather than with any query; it runs once, off the writer's path.
+ *
+ * Tasks moved to the archive by TodoArchiver are still counted; archival does
+ * not touch the counters.
+ *
+ * Each task's last counted values are kept by id, so applying the same change
+ * twice is harmless and an update only has to move the task between counters.
+ * Reads and mutations share one lock and only do a few map updates under it.
+ * Counting the database, at startup and on rebuild, happens outside that lock
+ * so the SQLite writer's after-commit actions never wait on it; mutations that
+ * land meanwhile are recorded and replayed onto the fresh count.
+ */
+@Component
+public class TodoStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoStatistics.class);
+
+    public enum Period {
+        DAY,
+        WEEK
+    }
+
+    private static final Comparator<String> BY_NAME = Comparator.nullsLast(Comparator.naturalOrder());
+
+    @Autowired
+    private TodoItemRepository repository;
+
+    @Autowired
+    private ArchivedTodoItemRepository archive;
+
+    private final Object lock = new Object();
+
+    // Held while counting the database, so only one count runs at a time. Never taken
+    // by put or remove
+    private final Object scanLock = new Object();
+
+    // Guarded by lock; null until the first count finishes
+    private Tally tally;
+
+    // Guarded by lock; each task's latest values (null once deleted) since the running
+    // count started, or null when no count is running
+    private Map<Long, Entry> pending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (current() != null) {
+            return;
+        }
+        synchronized (scanLock) {
+            if (current() == null) {
+                count();
+            }
+        }
+    }
+
+    public TodoStats stats(LocalDate from, LocalDate to) {
+        load();
+        synchronized (lock) {
+            return tally.summarize(from, to);
+        }
+    }
+
+    /**
+     * Completed tasks and the time they took, per day or per week (starting
+     * Monday) and category, for the periods overlapping from..to. Periods and
+     * categories with nothing completed are left out.
+     */
+    public TimeSeries timeSeries(Period period, LocalDate from, LocalDate to) {
+        load();
+        synchronized (lock) {
+            return new TimeSeries(period, from, to, tally.timeSpent(period, from, to));
+        }
+    }
+
+    public void put(TodoItem item) {
+        change(item.getId(), Entry.of(item));
+    }
+
+    public void remove(Long id) {
+        change(id, null);
+    }
+
+    /**
+     * Recounts every task from the database and replaces the counters with the
+     * result. Returns whether the counters already matched; a mismatch means
+     * something changed rows behind TodoService's back.
+     */
+    public boolean rebuild() {
+        synchronized (scanLock) {
+            return count();
+        }
+    }
+
+    private void change(Long id, Entry entry) {
+        synchronized (lock) {
+            if (tally != null) {
+                tally.put(id, entry);
+            }
+            // Before the first count finishes a change is only recorded if a count is
+            // running; one that has not started yet reads it from the database
+            if (pending != null) {
+                pending.put(id, entry);
+            }
+        }
+    }
+
+    private Tally current() {
+        synchronized (lock) {
+            return tally;
+        }
+    }
+
+    // Called with scanLock held. Each task changed while scanning gets its latest values
+    // put onto the result, so a commit that lands mid-scan counts whether or not the
+    // scan saw it
+    private boolean count() {
+        synchronized (lock) {
+            pending = new HashMap<>();
+        }
+        Tally scanned;
+        try {
+            scanned = scan();
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            pending.forEach(scanned::put);
+            pending = null;
+            boolean consistent = tally == null || tally.sameCounts(scanned);
+            if (tally == null) {
+                logger.info("Counted statistics for {} tasks", scanned.entries.size());
+            } else if (!consistent) {
+                logger.warn("Task statistics had drifted from the database; replaced them with a fresh count");
+            }
+            tally = scanned;
+            return consistent;
+        }
+    }
+
+    // Archived tasks still count. The hot table is read first: a task archived in between
+    // then shows up in both reads under one id, which counts once, rather than in neither
+    private Tally scan() {
+        Tally scanned = Tally.of(repository.findAll());
+        archive.findAll().forEach(archived -> scanned.put(archived.getId(), Entry.of(archived.toTodoItem())));
+        return scanned;
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    // What one task contributes to the counters
+    private record Entry(LocalDate date, String category, boolean complete, boolean inProgress, long timeTaken) {
+
+        static Entry of(TodoItem item) {
+            return new Entry(item.getTaskDate(), item.getCategory(), item.isComplete(), item.isInProgress(),
+                    item.getTimeTaken() == null ? 0 : item.getTimeTaken());
+        }
+    }
+
+    // completeTime is the timeTaken of the complete tasks only
+    private record Counts(long tasks, long complete, long inProgress, long timeTaken, long completeTime) {
+
+        static final Counts ZERO = new Counts(0, 0, 0, 0, 0);
+
+        Counts plus(Entry entry, int sign) {
+            return new Counts(tasks + sign, complete + (entry.complete() ? sign : 0),
+                    inProgress + (entry.inProgress() ? sign : 0), timeTaken + sign * entry.timeTaken(),
+                    completeTime + (entry.complete() ? sign * entry.timeTaken() : 0));
+        }
+
+        Counts plus(Counts other) {
+            return new Counts(tasks + other.tasks, complete + other.complete, inProgress + other.inProgress,
+                    timeTaken + other.timeTaken, completeTime + other.completeTime);
+        }
+
+        CategoryStats toStats(String category) {
+            return new CategoryStats(category, tasks, complete, inProgress, timeTaken);
+        }
+    }
+
+    private static final class Tally {
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final NavigableMap<LocalDate, Map<String, Counts>> byDate = new TreeMap<>();
+        // Keyed by the Monday starting each week
+        private final NavigableMap<LocalDate, Map<String, Counts>> byWeek = new TreeMap<>();
+        // Tasks without a date, which only the all-time query counts
+        private final Map<String, Counts> undated = new HashMap<>();
+        private final Map<String, Counts> byCategory = new HashMap<>();
+
+        static Tally of(Iterable<TodoItem> items) {
+            Tally tally = new Tally();
+            items.forEach(item -> tally.put(item.getId(), Entry.of(item)));
+            return tally;
+        }
+
+        // Replaces what id contributes with entry, or drops it when entry is null
+        void put(Long id, Entry entry) {
+            Entry previous = entry == null ? entries.remove(id) : entries.put(id, entry);
+            if (Objects.equals(previous, entry)) {
+                return;
+            }
+            if (previous != null) {
+                add(previous, -1);
+            }
+            if (entry != null) {
+                add(entry, 1);
+            }
+        }
+
+        private void add(Entry entry, int sign) {
+            if (entry.date() == null) {
+                adjust(undated, entry, sign);
+            } else {
+                adjust(byDate, entry.date(), entry, sign);
+                adjust(byWeek, weekOf(entry.date()), entry, sign);
+            }
+            adjust(byCategory, entry, sign);
+        }
+
+        private static void adjust(NavigableMap<LocalDate, Map<String, Counts>> periods, LocalDate period,
+                Entry entry, int sign) {
+            Map<String, Counts> counters = periods.computeIfAbsent(period, key -> new HashMap<>());
+            adjust(counters, entry, sign);
+            if (counters.isEmpty()) {
+                periods.remove(period);
+            }
+        }
+
+        // Drops counters that reach zero, so equal task sets give equal maps
+        private static void adjust(Map<String, Counts> counters, Entry entry, int sign) {
+            Counts next = counters.getOrDefault(entry.category(), Counts.ZERO).plus(entry, sign);
+            if (next.tasks() == 0) {
+                counters.remove(entry.category());
+            } else {
+                counters.put(entry.category(), next);
+            }
+        }
+
+        boolean sameCounts(Tally other) {
+            return byDate.equals(other.byDate) && byWeek.equals(other.byWeek) && undated.equals(other.undated)
+                    && byCategory.equals(other.byCategory);
+        }
+
+        TodoStats summarize(LocalDate from, LocalDate to) {
+            Map<String, Counts> categories;
+            if (from == null && to == null) {
+                categories = byCategory;
+            } else {
+                categories = new HashMap<>();
+                for (Map<String, Counts> day : range(from, to)) {
+                    day.forEach((category, counts) -> categories.merge(category, counts, Counts::plus));
+                }
+            }
+            Map<String, Counts> sorted = new TreeMap<>(BY_NAME);
+            sorted.putAll(categories);
+            List<CategoryStats> rows = new ArrayList<>(sorted.size());
+            Counts total = Counts.ZERO;
+            for (Map.Entry<String, Counts> category : sorted.entrySet()) {
+                rows.add(category.getValue().toStats(category.getKey()));
+                total = total.plus(category.getValue());
+            }
+            return new TodoStats(from, to, total.toStats(null), rows);
+        }
+
+        private Collection<Map<String, Counts>> range(LocalDate from, LocalDate to) {
+            return range(byDate, from, to).values();
+        }
+
+        List<TimeSpent> timeSpent(Period period, LocalDate from, LocalDate to) {
+            NavigableMap<LocalDate, Map<String, Counts>> periods = period == Period.WEEK
+                    ? range(byWeek, from == null ? null : weekOf(from), to)
+                    : range(byDate, from, to);
+            List<TimeSpent> points = new ArrayList<>();
+            periods.forEach((start, counters) -> {
+                Map<String, Counts> sorted = new TreeMap<>(BY_NAME);
+                sorted.putAll(counters);
+                sorted.forEach((category, counts) -> {
+                    if (counts.complete() > 0) {
+                        points.add(new TimeSpent(start, category, counts.complete(), counts.completeTime()));
+                    }
+                });
+            });
+            return points;
+        }
+
+        private static NavigableMap<LocalDate, Map<String, Counts>> range(
+                NavigableMap<LocalDate, Map<String, Counts>> periods, LocalDate from, LocalDate to) {
+            if (from == null) {
+                return periods.headMap(to, true);
+            }
+            if (to == null) {
+                return periods.tailMap(from, true);
+            }
+            if (from.isAfter(to)) {
+                return Collections.emptyNavigableMap();
+            }
+            return periods.subMap(from, true, to, true);
+        }
+    }
+}
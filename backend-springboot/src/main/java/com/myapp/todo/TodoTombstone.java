@@ -0,0 +1,44 @@
+package com.myapp.todo;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Marks a deleted task so delta sync can tell clients to drop it. Task ids are
+ * never reused, so the task id is the key.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_todo_tombstone_change_version", columnList = "changeVersion"))
+public class TodoTombstone {
+
+    @Id
+    private Long id;
+
+    private Long changeVersion;
+
+    public TodoTombstone() {
+    }
+
+    public TodoTombstone(Long id, Long changeVersion) {
+        this.id = id;
+        this.changeVersion = changeVersion;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+}
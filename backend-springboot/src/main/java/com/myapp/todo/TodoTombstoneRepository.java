@@ -0,0 +1,9 @@
+package com.myapp.todo;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.CrudRepository;
+import java.util.List;
+
+public interface TodoTombstoneRepository extends CrudRepository<TodoTombstone, Long> {
+    List<TodoTombstone> findByChangeVersionGreaterThanOrderByChangeVersionAsc(Long changeVersion, Limit limit);
+}
@@ -0,0 +1,55 @@
+package com.myapp.todo;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Active with spring.threads.virtual.enabled=true, which moves Tomcat's
+ * request handling and Spring's task executors onto virtual threads. Blocked
+ * requests then cost no platform thread, but database access has to be
+ * bounded explicitly; see {@link BoundedDataSource}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(
+            @Value("${todo.sqlite.max-connections:0}") int maxConnections) {
+        // Leave one carrier free of pinned native calls
+        int permits = maxConnections > 0 ? maxConnections
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)) {
+                    return new BoundedDataSource(dataSource, permits);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder boundedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof BoundedDataSource bounded) {
+                Gauge.builder("sqlite.connections.active", bounded, BoundedDataSource::getActiveConnections)
+                        .description("Connections currently held under the virtual-thread cap")
+                        .register(registry);
+                Gauge.builder("sqlite.connections.pending", bounded, BoundedDataSource::getPendingConnections)
+                        .description("Callers waiting for a connection under the virtual-thread cap")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.myapp.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Task counts for one category, or for every category when category is null.
+ * timeTaken is the sum of the tasks' timeTaken values; completionRate is
+ * complete / tasks, or 0 when there are no tasks.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CategoryStats {
+    private String category;
+    private long tasks;
+    private long complete;
+    private long inProgress;
+    private long timeTaken;
+    private double completionRate;
+
+    public CategoryStats() {
+    }
+
+    public CategoryStats(String category, long tasks, long complete, long inProgress, long timeTaken) {
+        this.category = category;
+        this.tasks = tasks;
+        this.complete = complete;
+        this.inProgress = inProgress;
+        this.timeTaken = timeTaken;
+        this.completionRate = tasks == 0 ? 0 : (double) complete / tasks;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(long tasks) {
+        this.tasks = tasks;
+    }
+
+    public long getComplete() {
+        return complete;
+    }
+
+    public void setComplete(long complete) {
+        this.complete = complete;
+    }
+
+    public long getInProgress() {
+        return inProgress;
+    }
+
+    public void setInProgress(long inProgress) {
+        this.inProgress = inProgress;
+    }
+
+    public long getTimeTaken() {
+        return timeTaken;
+    }
+
+    public void setTimeTaken(long timeTaken) {
+        this.timeTaken = timeTaken;
+    }
+
+    public double getCompletionRate() {
+        return completionRate;
+    }
+
+    public void setCompletionRate(double completionRate) {
+        this.completionRate = completionRate;
+    }
+}
@@ -0,0 +1,39 @@
+package com.myapp.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.myapp.todo.TodoItem;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * One pushed change. Task saves carry the task so clients can apply it
+ * without a fetch; deletes carry only the id, and scratchpad saves only the
+ * time, since its content can be large and is one conditional GET away.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEvent {
+    private final Long id;
+
+    @SuppressFBWarnings(value = { "EI_EXPOSE_REP",
+            "EI_EXPOSE_REP2" }, justification = "TodoItem is a copy made for this event")
+    private final TodoItem item;
+
+    private final String lastModified;
+
+    public ChangeEvent(Long id, TodoItem item, String lastModified) {
+        this.id = id;
+        this.item = item;
+        this.lastModified = lastModified;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public TodoItem getItem() {
+        return item;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,62 @@
+package com.myapp.todo.dto;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. status is "Imported", or "Error: ..." when the
+ * input could not be read to the end; tasks committed before that point stay
+ * imported. Rows that fail validation are skipped and described in errors
+ * (the first 20 of them).
+ */
+@SuppressFBWarnings(value = { "EI_EXPOSE_REP",
+        "EI_EXPOSE_REP2" }, justification = "Response DTO built once per request; defensive copying is not appropriate")
+public class ImportResult {
+    private String status;
+    private int imported;
+    private int skipped;
+    private List<String> errors;
+
+    public ImportResult() {
+    }
+
+    public ImportResult(String status, int imported, int skipped, List<String> errors) {
+        this.status = status;
+        this.imported = imported;
+        this.skipped = skipped;
+        this.errors = errors;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,56 @@
+package com.myapp.todo.dto;
+
+/**
+ * One edit to the scratchpad, made against the version the client last saw:
+ * replace deleteCount characters at position with text. Positions count
+ * UTF-16 code units, as JavaScript string indexes do. baseVersion is boxed
+ * so a request that leaves it out is told apart from one made against 0.
+ */
+public class ScratchpadEdit {
+    private Long baseVersion;
+    private int position;
+    private int deleteCount;
+    private String text;
+
+    public ScratchpadEdit() {
+    }
+
+    public ScratchpadEdit(Long baseVersion, int position, int deleteCount, String text) {
+        this.baseVersion = baseVersion;
+        this.position = position;
+        this.deleteCount = deleteCount;
+        this.text = text;
+    }
+
+    public Long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public void setBaseVersion(Long baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    public int getDeleteCount() {
+        return deleteCount;
+    }
+
+    public void setDeleteCount(int deleteCount) {
+        this.deleteCount = deleteCount;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+}
@@ -0,0 +1,30 @@
+package com.myapp.todo.dto;
+
+public class ScratchpadPatchResult {
+    private String status;
+    private long version;
+
+    public ScratchpadPatchResult() {
+    }
+
+    public ScratchpadPatchResult(String status, long version) {
+        this.status = status;
+        this.version = version;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,65 @@
+package com.myapp.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.myapp.todo.TodoStatistics;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Time spent on completed tasks per period and category, oldest period first.
+ * Periods with nothing completed are missing from points rather than zero.
+ */
+@SuppressFBWarnings(value = { "EI_EXPOSE_REP",
+        "EI_EXPOSE_REP2" }, justification = "Response DTO built once per request; defensive copying is not appropriate")
+public class TimeSeries {
+    private TodoStatistics.Period period;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate from;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate to;
+    private List<TimeSpent> points;
+
+    public TimeSeries() {
+    }
+
+    public TimeSeries(TodoStatistics.Period period, LocalDate from, LocalDate to, List<TimeSpent> points) {
+        this.period = period;
+        this.from = from;
+        this.to = to;
+        this.points = points;
+    }
+
+    public TodoStatistics.Period getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(TodoStatistics.Period period) {
+        this.period = period;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public List<TimeSpent> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<TimeSpent> points) {
+        this.points = points;
+    }
+}
@@ -0,0 +1,61 @@
+package com.myapp.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * Tasks of one category completed in the period starting on date, and the sum
+ * of their timeTaken.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TimeSpent {
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+    private String category;
+    private long completed;
+    private long timeTaken;
+
+    public TimeSpent() {
+    }
+
+    public TimeSpent(LocalDate date, String category, long completed, long timeTaken) {
+        this.date = date;
+        this.category = category;
+        this.completed = completed;
+        this.timeTaken = timeTaken;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getTimeTaken() {
+        return timeTaken;
+    }
+
+    public void setTimeTaken(long timeTaken) {
+        this.timeTaken = timeTaken;
+    }
+}
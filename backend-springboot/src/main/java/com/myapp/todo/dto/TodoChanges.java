@@ -0,0 +1,62 @@
+package com.myapp.todo.dto;
+
+import com.myapp.todo.TodoItem;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.List;
+
+/**
+ * Tasks written and ids deleted after a client's version, oldest first. The
+ * client stores version and passes it as since on its next call; hasMore
+ * means the page was cut short and it should call again straight away.
+ */
+@SuppressFBWarnings(value = { "EI_EXPOSE_REP",
+        "EI_EXPOSE_REP2" }, justification = "Response DTO built once per request; defensive copying is not appropriate")
+public class TodoChanges {
+    private long version;
+    private List<TodoItem> items;
+    private List<Long> deleted;
+    private boolean hasMore;
+
+    public TodoChanges() {
+    }
+
+    public TodoChanges(long version, List<TodoItem> items, List<Long> deleted, boolean hasMore) {
+        this.version = version;
+        this.items = items;
+        this.deleted = deleted;
+        this.hasMore = hasMore;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public List<TodoItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TodoItem> items) {
+        this.items = items;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
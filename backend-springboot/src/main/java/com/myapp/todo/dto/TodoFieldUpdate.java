@@ -0,0 +1,44 @@
+package com.myapp.todo.dto;
+
+/**
+ * One entry of a batch update: the same id/field/value triple accepted by
+ * POST /todo/update.
+ */
+public class TodoFieldUpdate {
+    private Long id;
+    private String field;
+    private String value;
+
+    public TodoFieldUpdate() {
+    }
+
+    public TodoFieldUpdate(Long id, String field, String value) {
+        this.id = id;
+        this.field = field;
+        this.value = value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,65 @@
+package com.myapp.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Totals for the tasks dated between from and to (inclusive; a null bound is
+ * open), and the same figures per category sorted by name. With both bounds
+ * null, tasks without a date are counted too.
+ */
+@SuppressFBWarnings(value = { "EI_EXPOSE_REP",
+        "EI_EXPOSE_REP2" }, justification = "Response DTO built once per request; defensive copying is not appropriate")
+public class TodoStats {
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate from;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate to;
+    private CategoryStats total;
+    private List<CategoryStats> categories;
+
+    public TodoStats() {
+    }
+
+    public TodoStats(LocalDate from, LocalDate to, CategoryStats total, List<CategoryStats> categories) {
+        this.from = from;
+        this.to = to;
+        this.total = total;
+        this.categories = categories;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public CategoryStats getTotal() {
+        return total;
+    }
+
+    public void setTotal(CategoryStats total) {
+        this.total = total;
+    }
+
+    public List<CategoryStats> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryStats> categories) {
+        this.categories = categories;
+    }
+}
@@ -0,0 +1,6 @@
+-- Schema as created by Hibernate (ddl-auto=update) in the last release that managed it
+-- that way. Databases from that release already have these tables, so every statement
+-- here is a no-op on them.
+create table if not exists todo_item (id bigint not null, assigned_time varchar(255), category varchar(255), complete boolean not null, day_order integer, in_progress boolean not null, long_term boolean not null, name varchar(255), priority integer, repeat_duration integer, repeat_type tinyint check (repeat_type between 0 and 4), task_date varchar(255), time_taken bigint, primary key (id));
+create table if not exists todo_item_seq (next_val bigint);
+create table if not exists scratchpad (id bigint not null, content TEXT, last_modified timestamp, primary key (id));
@@ -0,0 +1,8 @@
+-- Tables and indexes added after the baseline. A database that ran a build with
+-- ddl-auto=update in between may already have some of them.
+create table if not exists todo_tombstone (id bigint not null, change_version bigint, primary key (id));
+create table if not exists scratchpad_patch (version bigint not null, created_at timestamp, delete_count integer not null, position integer not null, text TEXT, primary key (version));
+create table if not exists archived_todo_item (id bigint not null, archived_at timestamp, assigned_time varchar(255), category varchar(255), complete boolean not null, day_order integer, in_progress boolean not null, long_term boolean not null, name varchar(255), priority integer, repeat_duration integer, repeat_type tinyint check (repeat_type between 0 and 4), task_date varchar(255), time_taken bigint, primary key (id));
+create index if not exists idx_todo_item_change_version on todo_item (change_version);
+create index if not exists idx_todo_tombstone_change_version on todo_tombstone (change_version);
+create index if not exists idx_archived_todo_item_task_date on archived_todo_item (task_date);
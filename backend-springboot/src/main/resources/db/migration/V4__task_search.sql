@@ -0,0 +1,16 @@
+-- Full-text index for GET /todo/search: an FTS5 table that reads its text from todo_item
+-- and triggers that keep it in step with every write, including raw JDBC. A database that
+-- ran an earlier build already has the table and triggers from TodoSearchIndex.
+create virtual table if not exists todo_item_fts using fts5(name, category, content='todo_item', content_rowid='id', tokenize='unicode61 remove_diacritics 2');
+create trigger if not exists todo_item_fts_insert after insert on todo_item begin
+    insert into todo_item_fts(rowid, name, category) values (new.id, new.name, new.category);
+end;
+create trigger if not exists todo_item_fts_delete after delete on todo_item begin
+    insert into todo_item_fts(todo_item_fts, rowid, name, category) values ('delete', old.id, old.name, old.category);
+end;
+create trigger if not exists todo_item_fts_update after update of name, category on todo_item begin
+    insert into todo_item_fts(todo_item_fts, rowid, name, category) values ('delete', old.id, old.name, old.category);
+    insert into todo_item_fts(rowid, name, category) values (new.id, new.name, new.category);
+end;
+-- Index the rows written before search existed
+insert into todo_item_fts(todo_item_fts) values ('rebuild');
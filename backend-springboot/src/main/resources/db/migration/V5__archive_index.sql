@@ -0,0 +1,2 @@
+-- Lets TodoArchiver find completed tasks dated before its cutoff without scanning todo_item
+create index if not exists idx_todo_item_complete_task_date on todo_item (complete, task_date);
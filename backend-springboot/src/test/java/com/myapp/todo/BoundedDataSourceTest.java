@@ -0,0 +1,105 @@
+package com.myapp.todo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private BoundedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new BoundedDataSource(target, 2);
+    }
+
+    @Test
+    void testCallerBeyondCapWaitsForAClose() throws Exception {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        Connection first = dataSource.getConnection();
+        try (Connection second = dataSource.getConnection();
+                ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertNotSame(first, second);
+
+            // Act
+            Future<Connection> third = executor.submit(() -> dataSource.getConnection());
+            while (dataSource.getPendingConnections() == 0) {
+                Thread.onSpinWait();
+            }
+            assertFalse(third.isDone());
+            first.close();
+
+            // Assert
+            try (Connection acquired = third.get(5, TimeUnit.SECONDS)) {
+                assertNotNull(acquired);
+                assertEquals(2, dataSource.getActiveConnections());
+            }
+        } finally {
+            // Closing first again is a no-op, see testClosingTwiceReleasesOnce
+            first.close();
+        }
+        assertEquals(0, dataSource.getActiveConnections());
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    void testClosingTwiceReleasesOnce() throws Exception {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        Connection held = dataSource.getConnection();
+
+        // Act
+        held.close();
+        held.close();
+
+        // Assert
+        assertEquals(0, dataSource.getActiveConnections());
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    void testFailedConnectReleasesPermit() throws Exception {
+        // Arrange
+        when(target.getConnection()).thenThrow(new SQLException("database is locked"));
+
+        // Act & Assert
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(0, dataSource.getActiveConnections());
+    }
+
+    @Test
+    void testDelegatesOtherCallsToTheConnection() throws Exception {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(false);
+
+        // Act
+        Connection held = dataSource.getConnection();
+
+        // Assert
+        assertFalse(held.getAutoCommit());
+        assertEquals(held, held);
+        assertNotEquals(connection, held);
+    }
+}
@@ -0,0 +1,147 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.ChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeEventStreamTest {
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ChangeEventStream events;
+
+    private TodoItem item;
+
+    @BeforeEach
+    void setUp() {
+        events.registerMetrics();
+        item = new TodoItem(LocalDate.of(2024, 5, 1), 1024, "Work", "Report");
+        item.setId(7L);
+        item.setChangeVersion(3L);
+    }
+
+    @Test
+    void testDeliversSavesAndDeletesInOrder() {
+        // Arrange
+        Scratchpad scratchpad = new Scratchpad("notes");
+        scratchpad.setId(1L);
+        scratchpad.setLastModified(LocalDateTime.of(2024, 5, 1, 9, 30));
+
+        // Act & Assert
+        StepVerifier.create(events.subscribe())
+                .then(() -> {
+                    events.taskSaved(item);
+                    events.taskDeleted(7L);
+                    events.scratchpadSaved(scratchpad);
+                })
+                .assertNext(event -> {
+                    assertEquals("task", event.event());
+                    assertEquals("Report", event.data().getItem().getName());
+                    assertNotSame(item, event.data().getItem());
+                })
+                .assertNext(event -> {
+                    assertEquals("task-deleted", event.event());
+                    assertEquals(7L, event.data().getId());
+                    assertNull(event.data().getItem());
+                })
+                .assertNext(event -> {
+                    assertEquals("scratchpad", event.event());
+                    assertEquals("2024-05-01T09:30", event.data().getLastModified());
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testEmittingWithoutSubscribersIsDropped() {
+        // Act - nothing is retained for later subscribers
+        events.taskSaved(item);
+
+        // Assert
+        StepVerifier.create(events.subscribe())
+                .then(() -> events.taskDeleted(8L))
+                .assertNext(event -> assertEquals(8L, event.data().getId()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testStalledSubscriberIsToldToResyncWithoutHoldingOthersBack() {
+        // Arrange - one subscriber that reads everything, one that requests nothing
+        List<ServerSentEvent<ChangeEvent>> fast = new CopyOnWriteArrayList<>();
+        Disposable fastSubscription = events.subscribe().subscribe(fast::add);
+        int emitted = ChangeEventStream.SUBSCRIBER_BUFFER * 4;
+
+        // Act & Assert - emitting returns while the stalled buffer overflows
+        StepVerifier.create(events.subscribe(), 0)
+                .then(() -> {
+                    for (int i = 0; i < emitted; i++) {
+                        events.taskDeleted((long) i);
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .recordWith(ArrayList::new)
+                .thenConsumeWhile(event -> true)
+                .consumeRecordedWith(received -> {
+                    List<ServerSentEvent<ChangeEvent>> stalled = new ArrayList<>(received);
+                    assertTrue(stalled.size() < emitted);
+                    assertEquals(ChangeEventStream.RESYNC, stalled.get(stalled.size() - 1).event());
+                })
+                .verifyComplete();
+        assertEquals(emitted, fast.size());
+        fastSubscription.dispose();
+    }
+
+    @Test
+    void testCloseEndsOpenStreamsWithResync() {
+        // Act & Assert
+        StepVerifier.create(events.subscribe())
+                .then(events::close)
+                .assertNext(event -> assertEquals(ChangeEventStream.RESYNC, event.event()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testResyncEndsOpenStreams() {
+        // Act & Assert
+        StepVerifier.create(events.subscribe())
+                .then(events::resync)
+                .assertNext(event -> assertEquals(ChangeEventStream.RESYNC, event.event()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testSubscriberGaugeFollowsOpenStreams() {
+        // Arrange
+        Disposable first = events.subscribe().subscribe();
+        Disposable second = events.subscribe().subscribe();
+
+        // Act
+        first.dispose();
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("todo.events.subscribers").gauge().value());
+        second.dispose();
+        assertEquals(0.0, meterRegistry.get("todo.events.subscribers").gauge().value());
+    }
+}
@@ -0,0 +1,134 @@
+package com.myapp.todo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DayOrderAllocatorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+    @Mock
+    private TodoItemRepository repository;
+
+    @InjectMocks
+    private DayOrderAllocator dayOrders;
+
+    @Test
+    void testContinuesFromMaxDayOrder() {
+        // Arrange
+        when(repository.findMaxDayOrder(DAY)).thenReturn(7);
+        when(repository.findMaxDayOrder(DAY.plusDays(1))).thenReturn(0);
+
+        // Act
+        int first = dayOrders.next(DAY);
+        int second = dayOrders.next(DAY);
+        int otherDay = dayOrders.next(DAY.plusDays(1));
+
+        // Assert - the database is asked once per date, not once per task
+        assertEquals(7 + DayOrderAllocator.GAP, first);
+        assertEquals(7 + 2 * DayOrderAllocator.GAP, second);
+        assertEquals(DayOrderAllocator.GAP, otherDay);
+        verify(repository, times(1)).findMaxDayOrder(DAY);
+    }
+
+    @Test
+    void testObserveRaisesCounterAboveExplicitOrders() {
+        // Arrange
+        when(repository.findMaxDayOrder(DAY)).thenReturn(0);
+        dayOrders.next(DAY);
+
+        // Act
+        dayOrders.observe(DAY, 5000);
+        dayOrders.observe(DAY, 3);
+        dayOrders.observe(DAY.plusDays(1), 5); // not cached yet, seeded from the database later
+
+        // Assert
+        assertEquals(5000 + DayOrderAllocator.GAP, dayOrders.next(DAY));
+        verify(repository, never()).findMaxDayOrder(DAY.plusDays(1));
+    }
+
+    @Test
+    void testConcurrentAllocationsAreDistinctAndDense() throws Exception {
+        // Arrange
+        when(repository.findMaxDayOrder(DAY)).thenReturn(0);
+        int threads = 16;
+        int allocationsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Integer> orders = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < allocationsPerThread; i++) {
+                    orders.add(dayOrders.next(DAY));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert - no duplicates and none skipped: exactly GAP..n*GAP handed out
+        int total = threads * allocationsPerThread;
+        assertEquals(total, orders.size());
+        assertEquals(DayOrderAllocator.GAP, orders.stream().mapToInt(Integer::intValue).min().orElseThrow());
+        assertEquals(total * DayOrderAllocator.GAP, orders.stream().mapToInt(Integer::intValue).max().orElseThrow());
+        verify(repository, times(1)).findMaxDayOrder(DAY);
+    }
+
+    @Test
+    void testBetweenUsesMidpointUntilGapRunsOut() {
+        // Act & Assert
+        assertEquals(DayOrderAllocator.GAP, DayOrderAllocator.between(null, null));
+        assertEquals(512, DayOrderAllocator.between(null, 1024));
+        assertEquals(1536, DayOrderAllocator.between(1024, 2048));
+        assertEquals(1024 + DayOrderAllocator.GAP, DayOrderAllocator.between(1024, null));
+        assertEquals(2, DayOrderAllocator.between(1, 3));
+        assertNull(DayOrderAllocator.between(1, 2));
+        assertNull(DayOrderAllocator.between(null, 1));
+        assertNull(DayOrderAllocator.between(Integer.MAX_VALUE - 1, null));
+    }
+
+    @Test
+    void testOrdersNearIntegerMaxValue() {
+        // Arrange
+        int top = Integer.MAX_VALUE;
+        when(repository.findMaxDayOrder(DAY)).thenReturn(top - DayOrderAllocator.GAP - 1);
+
+        // Act & Assert - appends saturate instead of wrapping negative
+        assertEquals(top - 1, dayOrders.next(DAY));
+        assertEquals(top, dayOrders.next(DAY));
+        assertEquals(top, dayOrders.next(DAY));
+
+        // Act & Assert - appending after the last order needs a full gap, a midpoint only needs room
+        assertEquals(top, DayOrderAllocator.between(top - DayOrderAllocator.GAP, null));
+        assertNull(DayOrderAllocator.between(top - DayOrderAllocator.GAP + 1, null));
+        assertNull(DayOrderAllocator.between(top, null));
+        assertEquals(top - 50, DayOrderAllocator.between(top - 100, top));
+        assertNull(DayOrderAllocator.between(top - 1, top));
+    }
+}
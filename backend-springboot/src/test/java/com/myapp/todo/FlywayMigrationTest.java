@@ -0,0 +1,104 @@
+package com.myapp.todo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The Flyway migrations against a real SQLite file, with Hibernate set to
+ * validate the migrated schema against the entities. The test profile turns
+ * Flyway off, so each test starts the application itself with it on.
+ */
+class FlywayMigrationTest {
+
+        @TempDir
+        Path databaseDir;
+
+        private ConfigurableApplicationContext start(Path database) {
+                return new SpringApplicationBuilder(TodoApplication.class).profiles("test").run(
+                                "--spring.main.web-application-type=none",
+                                "--spring.main.banner-mode=off",
+                                "--spring.datasource.url=jdbc:sqlite:" + database,
+                                "--spring.datasource.driverClassName=org.sqlite.JDBC",
+                                "--spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+                                "--spring.flyway.enabled=true",
+                                "--spring.jpa.hibernate.ddl-auto=validate");
+        }
+
+        @Test
+        @DisplayName("a new database is migrated to a schema that matches the entities")
+        void testNewDatabase() {
+                try (ConfigurableApplicationContext context = start(databaseDir.resolve("new.db"))) {
+                        // Act
+                        TodoItem item = context.getBean(TodoService.class)
+                                        .addTask("Work", "First", LocalDate.of(2024, 5, 1), null, null, null, null)
+                                        .getItem();
+
+                        // Assert
+                        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                        assertThat(jdbcTemplate.queryForList(
+                                        "select version from flyway_schema_history where success = 1 order by installed_rank",
+                                        String.class)).containsExactly("1", "2", "3", "4", "5");
+                        assertThat(item.getId()).isNotNull();
+                        assertThat(item.getChangeVersion()).isNotNull();
+                        assertThat(context.getBean(TodoService.class).search("first", 10)).extracting(TodoItem::getId)
+                                        .containsExactly(item.getId());
+                }
+        }
+
+        @Test
+        @DisplayName("a database created by ddl-auto=update before migrations is baselined and brought up to date")
+        void testExistingDatabase() throws SQLException {
+                // Arrange - the schema and data of the last release that let Hibernate manage tables
+                Path database = databaseDir.resolve("existing.db");
+                try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+                                Statement statement = connection.createStatement()) {
+                        statement.execute("create table todo_item (id bigint not null, assigned_time varchar(255),"
+                                        + " category varchar(255), complete boolean not null, day_order integer,"
+                                        + " in_progress boolean not null, long_term boolean not null, name varchar(255),"
+                                        + " priority integer, repeat_duration integer, repeat_type tinyint check"
+                                        + " (repeat_type between 0 and 4), task_date varchar(255), time_taken bigint,"
+                                        + " primary key (id))");
+                        statement.execute("create table todo_item_seq (next_val bigint)");
+                        statement.execute("create table scratchpad (id bigint not null, content TEXT,"
+                                        + " last_modified timestamp, primary key (id))");
+                        statement.execute("insert into todo_item (id, category, complete, day_order, in_progress,"
+                                        + " long_term, name, priority, repeat_duration, repeat_type, task_date)"
+                                        + " values (7, 'Work', 0, 1, 0, 0, 'Kept', 0, 0, 0, '2024-05-01')");
+                        statement.execute("insert into todo_item_seq values (8)");
+                }
+
+                // Act
+                try (ConfigurableApplicationContext context = start(database)) {
+                        // Assert
+                        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                        assertThat(jdbcTemplate.queryForList(
+                                        "select version from flyway_schema_history where success = 1 order by installed_rank",
+                                        String.class)).containsExactly("0", "1", "2", "3", "4", "5");
+                        TodoItem kept = context.getBean(TodoItemRepository.class).findById(7L).orElseThrow();
+                        assertThat(kept.getName()).isEqualTo("Kept");
+                        assertThat(kept.getChangeVersion()).isEqualTo(1L);
+                        TodoItem added = context.getBean(TodoService.class)
+                                        .addTask("Work", "Added", LocalDate.of(2024, 5, 1), null, null, null, null)
+                                        .getItem();
+                        assertThat(added.getId()).isGreaterThan(7L);
+                        // The rows from before the index are searchable through the rebuild
+                        assertThat(context.getBean(TodoService.class).search("kept", 10)).extracting(TodoItem::getId)
+                                        .containsExactly(7L);
+                        assertThat(jdbcTemplate.queryForObject("select count(*) from archived_todo_item", Integer.class))
+                                        .isZero();
+                }
+        }
+}
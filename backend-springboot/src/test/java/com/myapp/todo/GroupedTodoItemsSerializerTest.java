@@ -0,0 +1,86 @@
+package com.myapp.todo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupedTodoItemsSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void testWritesDaysInDateOrder() throws Exception {
+        // Arrange
+        TreeMap<LocalDate, List<TodoItem>> days = new TreeMap<>();
+        days.put(LocalDate.of(2024, 3, 11), List.of(item(2L, LocalDate.of(2024, 3, 11), 1024)));
+        days.put(LocalDate.of(2024, 3, 9), List.of(item(3L, LocalDate.of(2024, 3, 9), 1024)));
+        days.put(LocalDate.of(2024, 3, 10), List.of(
+                item(4L, LocalDate.of(2024, 3, 10), 1024), item(1L, LocalDate.of(2024, 3, 10), 2048)));
+
+        // Act
+        String json = objectMapper.writeValueAsString(new GroupedTodoItems(days));
+
+        // Assert
+        int first = json.indexOf("\"2024-03-09\"");
+        int second = json.indexOf("\"2024-03-10\"");
+        int third = json.indexOf("\"2024-03-11\"");
+        assertTrue(json.startsWith("{\"itemsByDate\":{\"2024-03-09\":["));
+        assertTrue(first < second && second < third);
+        assertTrue(json.indexOf("\"id\":4") < json.indexOf("\"id\":1"));
+    }
+
+    @Test
+    void testMatchesPlainMapSerialization() throws Exception {
+        // Arrange - stored tasks with every optional field, and a projected occurrence
+        LocalDate day = LocalDate.of(2024, 3, 10);
+        LocalDate next = day.plusDays(1);
+        TodoItem item = item(1L, day, 1024);
+        item.setAssignedTime(java.time.LocalTime.of(9, 30));
+        item.setChangeVersion(7L);
+        TodoItem other = item(2L, day, 2048);
+        TodoItem occurrence = new TodoItem(item);
+        occurrence.setTaskDate(next);
+        occurrence.setVirtual(true);
+        Map<String, List<TodoItem>> itemsByDate = new LinkedHashMap<>();
+        itemsByDate.put(day.toString(), List.of(item, other));
+        itemsByDate.put(next.toString(), List.of(occurrence));
+        String expected = objectMapper.writeValueAsString(Map.of("itemsByDate", itemsByDate));
+
+        // Act
+        String json = objectMapper.writeValueAsString(new GroupedTodoItems(
+                new TreeMap<>(Map.of(day, List.of(item, other), next, List.of(occurrence)))));
+        GroupedTodoItems parsed = objectMapper.readValue(json, GroupedTodoItems.class);
+
+        // Assert
+        assertEquals(expected, json);
+        assertTrue(json.contains("\"changeVersion\":7"));
+        assertTrue(json.contains("\"virtual\":true"));
+        assertFalse(json.contains("\"virtual\":false"));
+        assertEquals(List.of(day.toString(), next.toString()), List.copyOf(parsed.getItemsByDate().keySet()));
+        assertEquals("Task 1", parsed.getItemsByDate().get(day.toString()).get(0).getName());
+        assertTrue(parsed.getItemsByDate().get(next.toString()).get(0).isVirtual());
+    }
+
+    @Test
+    void testEmptyWindow() throws Exception {
+        // Act
+        String json = objectMapper.writeValueAsString(new GroupedTodoItems(new TreeMap<>()));
+
+        // Assert
+        assertEquals("{\"itemsByDate\":{}}", json);
+    }
+
+    private static TodoItem item(Long id, LocalDate date, int dayOrder) {
+        TodoItem item = new TodoItem(date, dayOrder, "Work", "Task " + id);
+        item.setId(id);
+        return item;
+    }
+}
@@ -0,0 +1,90 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.TodoOperationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that request, update, writer and Hibernate meters reach the
+ * Prometheus scrape endpoint.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Autowired
+        private TodoItemRepository repository;
+
+        @Autowired
+        private TodoReadModel readModel;
+
+        private String baseUrl;
+
+        @BeforeEach
+        void setUp() {
+                baseUrl = "http://localhost:" + port;
+                repository.deleteAll();
+                readModel.reload();
+        }
+
+        @Test
+        @DisplayName("GET /actuator/prometheus - should expose endpoint, update, writer and Hibernate meters")
+        @edu.umd.cs.findbugs.annotations.SuppressFBWarnings(value = "NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE", justification = "Objects.requireNonNull ensures the created task is present")
+        void testPrometheusScrape() {
+                // Arrange
+                java.net.URI addUrl = UriComponentsBuilder.fromUriString(baseUrl + "/todo/add")
+                                .queryParam("name", "Measured")
+                                .queryParam("category", "Work")
+                                .queryParam("taskDate", LocalDate.now().toString())
+                                .build()
+                                .toUri();
+                TodoOperationResult added = Objects.requireNonNull(
+                                restTemplate.postForEntity(addUrl, null, TodoOperationResult.class).getBody());
+                TodoItem item = Objects.requireNonNull(added.getItem());
+                java.net.URI updateUrl = UriComponentsBuilder.fromUriString(baseUrl + "/todo/update")
+                                .queryParam("id", item.getId())
+                                .queryParam("field", "complete")
+                                .queryParam("value", "true")
+                                .build()
+                                .toUri();
+                restTemplate.postForEntity(updateUrl, null, TodoOperationResult.class);
+                restTemplate.getForEntity(baseUrl + "/todo/scratchpad", String.class);
+
+                // Act
+                ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/actuator/prometheus", String.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody())
+                                .contains("http_server_requests_seconds_bucket")
+                                .contains("uri=\"/todo/add\"")
+                                .contains("uri=\"/todo/scratchpad\"")
+                                .contains("todo_update_seconds_count{field=\"complete\",outcome=\"updated\"")
+                                .contains("sqlite_writer_wait_seconds_count")
+                                .contains("sqlite_writer_transaction_seconds_count{outcome=\"committed\"")
+                                .contains("hibernate_query_executions_total")
+                                .contains("hibernate_entities_loads_total");
+        }
+}
@@ -0,0 +1,279 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.ImportResult;
+import com.myapp.todo.dto.TodoChanges;
+import com.myapp.todo.dto.TodoOperationResult;
+import com.myapp.todo.dto.TodoStats;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Black-box smoke test of the native binary, run by failsafe in the native
+ * profile (./mvnw -Pnative verify). Starts the executable named by the
+ * todo.native.binary property against a scratch SQLite file and walks the
+ * main scenarios of TodoRestControllerIntegrationTest over HTTP, so anything
+ * missing from the reachability metadata fails here rather than in production.
+ * Startup time and resident memory are logged for comparison with the JVM.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class NativeSmokeIT {
+
+        private static final Logger logger = LoggerFactory.getLogger(NativeSmokeIT.class);
+
+        private static final ParameterizedTypeReference<List<TodoItem>> TODO_ITEM_LIST_TYPE = new ParameterizedTypeReference<List<TodoItem>>() {
+        };
+
+        private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+        private final RestTemplate restTemplate = new RestTemplate();
+
+        private Path workDir;
+
+        private Process process;
+
+        private String baseUrl;
+
+        private Long taskId;
+
+        @BeforeAll
+        void startBinary() throws Exception {
+                String binary = System.getProperty("todo.native.binary");
+                assumeTrue(binary != null && Files.isExecutable(Path.of(binary)), "native binary not built");
+                int port;
+                try (ServerSocket socket = new ServerSocket(0)) {
+                        port = socket.getLocalPort();
+                }
+                workDir = Files.createTempDirectory("todo-native");
+                baseUrl = "http://localhost:" + port + "/todo";
+
+                long started = System.nanoTime();
+                process = new ProcessBuilder(binary,
+                                "--server.port=" + port,
+                                "--spring.datasource.url=jdbc:sqlite:" + workDir.resolve("todo.db"),
+                                "--spring.jpa.show-sql=false")
+                                .redirectErrorStream(true)
+                                .redirectOutput(workDir.resolve("app.log").toFile())
+                                .start();
+                waitUntilServing(System.currentTimeMillis() + 30_000);
+                logger.info("Native binary served its first request after {} ms, RSS {}",
+                                (System.nanoTime() - started) / 1_000_000, residentMemory(process.pid()));
+        }
+
+        @AfterAll
+        void stopBinary() throws IOException {
+                if (process != null) {
+                        process.destroy();
+                }
+                if (workDir != null) {
+                        try (Stream<Path> files = Files.walk(workDir)) {
+                                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                                        Files.deleteIfExists(file);
+                                }
+                        }
+                }
+        }
+
+        private void waitUntilServing(long deadline) throws Exception {
+                while (true) {
+                        assertThat(process.isAlive()).as("native binary exited, see " + workDir.resolve("app.log"))
+                                        .isTrue();
+                        try {
+                                if (restTemplate.getForEntity(baseUrl + "/all", String.class).getStatusCode()
+                                                .is2xxSuccessful()) {
+                                        return;
+                                }
+                        } catch (ResourceAccessException e) {
+                                // Not listening yet
+                        }
+                        assertThat(System.currentTimeMillis()).as("startup timed out").isLessThan(deadline);
+                        Thread.sleep(20);
+                }
+        }
+
+        // VmRSS from /proc on Linux, otherwise unknown
+        private static String residentMemory(long pid) {
+                try {
+                        return Files.readAllLines(Path.of("/proc", Long.toString(pid), "status")).stream()
+                                        .filter(line -> line.startsWith("VmRSS:"))
+                                        .map(line -> line.substring("VmRSS:".length()).trim())
+                                        .findFirst().orElse("unknown");
+                } catch (IOException e) {
+                        return "unknown";
+                }
+        }
+
+        private URI url(String path, Object... params) {
+                UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(baseUrl + path);
+                for (int i = 0; i < params.length; i += 2) {
+                        builder.queryParam((String) params[i], params[i + 1]);
+                }
+                return builder.build().toUri();
+        }
+
+        @Test
+        @Order(1)
+        @DisplayName("POST /todo/add - creates a task with a generated id")
+        void testAddTask() {
+                // Act
+                ResponseEntity<TodoOperationResult> response = restTemplate.postForEntity(
+                                url("/add", "name", "Native task", "category", "Work", "taskDate", DAY, "priority", 1),
+                                null, TodoOperationResult.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                TodoOperationResult result = response.getBody();
+                assertThat(result).isNotNull();
+                TodoItem item = result.getItem();
+                assertThat(item.getId()).isNotNull();
+                assertThat(item.getTaskDate()).isEqualTo(DAY);
+                taskId = item.getId();
+        }
+
+        @Test
+        @Order(2)
+        @DisplayName("GET /todo/allbydate - returns the task under its date")
+        void testGetAllByDate() {
+                // Act
+                ResponseEntity<String> response = restTemplate.getForEntity(
+                                url("/allbydate", "from", DAY, "to", DAY), String.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody()).contains("\"2024-05-01\"").contains("Native task");
+        }
+
+        @Test
+        @Order(3)
+        @DisplayName("POST /todo/update - marks the task complete")
+        void testMarkComplete() {
+                // Act
+                ResponseEntity<TodoOperationResult> response = restTemplate.postForEntity(
+                                url("/update", "id", taskId, "field", "complete", "value", "true"),
+                                null, TodoOperationResult.class);
+
+                // Assert
+                TodoOperationResult result = response.getBody();
+                assertThat(result).isNotNull();
+                assertThat(result.getItem().isComplete()).isTrue();
+        }
+
+        @Test
+        @Order(4)
+        @DisplayName("GET /todo/search - finds the task through the FTS5 index")
+        void testSearch() {
+                // Act
+                ResponseEntity<List<TodoItem>> response = restTemplate.exchange(
+                                url("/search", "q", "native"), HttpMethod.GET, null, TODO_ITEM_LIST_TYPE);
+
+                // Assert
+                assertThat(response.getBody()).extracting(TodoItem::getId).containsExactly(taskId);
+        }
+
+        @Test
+        @Order(5)
+        @DisplayName("GET /todo/stats - counts the completed task")
+        void testStats() {
+                // Act
+                TodoStats stats = restTemplate.getForObject(url("/stats", "from", DAY, "to", DAY), TodoStats.class);
+
+                // Assert
+                assertThat(stats).isNotNull();
+                assertThat(stats.getTotal().getTasks()).isEqualTo(1);
+                assertThat(stats.getTotal().getComplete()).isEqualTo(1);
+        }
+
+        @Test
+        @Order(6)
+        @DisplayName("POST /todo/import - imports CSV rows")
+        void testImportCsv() {
+                // Arrange
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.parseMediaType("text/csv"));
+                String csv = "name,category,taskDate\nImported one,Home,2024-05-02\n\"Imported, two\",Home,2024-05-02\n";
+
+                // Act
+                ImportResult result = restTemplate.postForObject(baseUrl + "/import", new HttpEntity<>(csv, headers),
+                                ImportResult.class);
+
+                // Assert
+                assertThat(result).isNotNull();
+                assertThat(result.getStatus()).isEqualTo("Imported");
+                assertThat(result.getImported()).isEqualTo(2);
+        }
+
+        @Test
+        @Order(7)
+        @DisplayName("GET /todo/changes - lists every task written so far")
+        void testChanges() {
+                // Act
+                TodoChanges changes = restTemplate.getForObject(url("/changes", "since", 0), TodoChanges.class);
+
+                // Assert
+                assertThat(changes).isNotNull();
+                assertThat(changes.getItems()).extracting(TodoItem::getName)
+                                .containsExactlyInAnyOrder("Native task", "Imported one", "Imported, two");
+        }
+
+        @Test
+        @Order(8)
+        @DisplayName("POST and GET /todo/scratchpad - round-trips the content")
+        void testScratchpad() {
+                // Arrange
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.TEXT_PLAIN);
+
+                // Act
+                restTemplate.postForObject(baseUrl + "/scratchpad", new HttpEntity<>("[\"native\"]", headers),
+                                Scratchpad.class);
+                Scratchpad scratchpad = restTemplate.getForObject(baseUrl + "/scratchpad", Scratchpad.class);
+
+                // Assert
+                assertThat(scratchpad).isNotNull();
+                assertThat(scratchpad.getContent()).isEqualTo("[\"native\"]");
+        }
+
+        @Test
+        @Order(9)
+        @DisplayName("DELETE /todo/delete/{id} - removes the task")
+        void testDelete() {
+                // Act
+                restTemplate.delete(baseUrl + "/delete/" + taskId);
+
+                // Assert
+                ResponseEntity<List<TodoItem>> response = restTemplate.exchange(
+                                baseUrl + "/all", HttpMethod.GET, null, TODO_ITEM_LIST_TYPE);
+                assertThat(response.getBody()).extracting(TodoItem::getId).doesNotContain(taskId);
+        }
+}
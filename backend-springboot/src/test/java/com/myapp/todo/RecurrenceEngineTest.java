@@ -0,0 +1,135 @@
+package com.myapp.todo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceEngineTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 31);
+
+    private final RecurrenceEngine engine = new RecurrenceEngine();
+
+    private static TodoItem recurring(long id, TodoItem.RepeatPattern repeatType, int repeatDuration) {
+        TodoItem item = new TodoItem(DAY, 1, "Home", "Recurring");
+        item.setId(id);
+        item.setRepeatType(repeatType);
+        item.setRepeatDuration(repeatDuration);
+        return item;
+    }
+
+    @Test
+    void testDailyTaskExpandsAcrossAYear() {
+        // Arrange
+        TodoItem daily = recurring(1L, TodoItem.RepeatPattern.EVERY_X_DAYS, 1);
+
+        // Act
+        List<LocalDate> year = engine.occurrences(daily, DAY, DAY.plusYears(1));
+        List<LocalDate> march = engine.occurrences(daily, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+
+        // Assert - the task's own date is the stored row, not an occurrence
+        assertEquals(366, year.size());
+        assertEquals(DAY.plusDays(1), year.get(0));
+        assertEquals(DAY.plusYears(1), year.get(year.size() - 1));
+        assertEquals(31, march.size());
+        assertEquals(LocalDate.of(2024, 3, 1), march.get(0));
+    }
+
+    @Test
+    void testMonthlyStepsLikeTheClient() {
+        // Arrange
+        TodoItem monthly = recurring(1L, TodoItem.RepeatPattern.EVERY_X_MONTHS, 1);
+        TodoItem fortnightly = recurring(2L, TodoItem.RepeatPattern.EVERY_X_WEEKS, 2);
+
+        // Act
+        List<LocalDate> months = engine.occurrences(monthly, DAY, LocalDate.of(2024, 4, 30));
+        List<LocalDate> weeks = engine.occurrences(fortnightly, DAY, DAY.plusWeeks(4));
+
+        // Assert - Jan 31 clamps to Feb 29 and keeps stepping from there
+        assertEquals(List.of(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 29), LocalDate.of(2024, 4, 29)), months);
+        assertEquals(List.of(DAY.plusWeeks(2), DAY.plusWeeks(4)), weeks);
+    }
+
+    @Test
+    void testSpecificWeekdaysReadsMondayAsHighBit() {
+        // Arrange - Monday (64) and Wednesday (16)
+        TodoItem weekdays = recurring(1L, TodoItem.RepeatPattern.SPECIFIC_WEEKDAYS, 0b1010000);
+
+        // Act
+        List<LocalDate> dates = engine.occurrences(weekdays, DAY, DAY.plusDays(14));
+
+        // Assert
+        assertEquals(4, dates.size());
+        assertTrue(dates.stream().allMatch(date -> date.getDayOfWeek() == DayOfWeek.MONDAY
+                || date.getDayOfWeek() == DayOfWeek.WEDNESDAY));
+    }
+
+    @Test
+    void testCachedExpansionFollowsRuleChanges() {
+        // Arrange
+        TodoItem task = recurring(1L, TodoItem.RepeatPattern.EVERY_X_DAYS, 1);
+        engine.occurrences(task, DAY, DAY.plusDays(30));
+
+        // Act
+        task.setRepeatDuration(10);
+        List<LocalDate> afterRuleChange = engine.occurrences(task, DAY, DAY.plusDays(30));
+        task.setComplete(true);
+        List<LocalDate> afterComplete = engine.occurrences(task, DAY, DAY.plusDays(30));
+
+        // Assert
+        assertEquals(List.of(DAY.plusDays(10), DAY.plusDays(20), DAY.plusDays(30)), afterRuleChange);
+        assertTrue(afterComplete.isEmpty());
+    }
+
+    @Test
+    void testRulesThatProduceNoDatesDoNotExpand() {
+        // Act & Assert
+        assertFalse(RecurrenceEngine.repeats(recurring(1L, TodoItem.RepeatPattern.NONE, 1)));
+        assertFalse(RecurrenceEngine.repeats(recurring(1L, TodoItem.RepeatPattern.EVERY_X_DAYS, 0)));
+        assertFalse(RecurrenceEngine.repeats(recurring(1L, TodoItem.RepeatPattern.SPECIFIC_WEEKDAYS, 0)));
+        assertTrue(engine.occurrences(recurring(1L, TodoItem.RepeatPattern.EVERY_X_DAYS, 0), DAY, DAY.plusDays(5))
+                .isEmpty());
+    }
+
+    @Test
+    void testExpansionIsCappedPerWindow() {
+        // Arrange
+        TodoItem daily = recurring(1L, TodoItem.RepeatPattern.EVERY_X_DAYS, 1);
+
+        // Act
+        List<LocalDate> dates = engine.occurrences(daily, DAY, DAY.plusYears(100));
+
+        // Assert
+        assertEquals(RecurrenceEngine.MAX_OCCURRENCES, dates.size());
+        assertEquals(DAY.plusDays(1), dates.get(0));
+    }
+
+    @Test
+    void testDistantWindowStartsAtItsFirstOccurrence() {
+        // Arrange
+        TodoItem everyThreeDays = recurring(1L, TodoItem.RepeatPattern.EVERY_X_DAYS, 3);
+        TodoItem monthly = recurring(2L, TodoItem.RepeatPattern.EVERY_X_MONTHS, 1);
+        TodoItem weekdays = recurring(3L, TodoItem.RepeatPattern.SPECIFIC_WEEKDAYS, 0b1000000);
+        LocalDate from = DAY.plusYears(30);
+        LocalDate to = from.plusDays(9);
+
+        // Act
+        List<LocalDate> days = engine.occurrences(everyThreeDays, from, to);
+        List<LocalDate> months = engine.occurrences(monthly, from, from.plusMonths(2));
+        List<LocalDate> mondays = engine.occurrences(weekdays, from, to);
+
+        // Assert - far past the per-window cap counted from the task's own date
+        assertFalse(days.isEmpty());
+        assertTrue(days.stream().allMatch(date -> ChronoUnit.DAYS.between(DAY, date) % 3 == 0));
+        assertFalse(days.get(0).isBefore(from));
+        assertTrue(days.get(0).isBefore(from.plusDays(3)));
+        assertEquals(List.of(LocalDate.of(2054, 2, 28), LocalDate.of(2054, 3, 28)), months);
+        assertEquals(2, mondays.size());
+        assertTrue(mondays.stream().allMatch(date -> date.getDayOfWeek() == DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,358 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.ScratchpadEdit;
+import com.myapp.todo.dto.ScratchpadPatchResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Snapshot-plus-log storage of the scratchpad against the embedded H2 database.
+ * The flush delay and max wait are shortened so debounced saves land within a test.
+ */
+@SpringBootTest(properties = {
+                "todo.scratchpad.flush-delay-ms=" + ScratchpadServiceIntegrationTest.FLUSH_DELAY_MS,
+                "todo.scratchpad.flush-max-wait-ms=" + ScratchpadServiceIntegrationTest.FLUSH_MAX_WAIT_MS })
+@ActiveProfiles("test")
+class ScratchpadServiceIntegrationTest {
+
+        static final long FLUSH_DELAY_MS = 300;
+
+        static final long FLUSH_MAX_WAIT_MS = 1500;
+
+        @Autowired
+        private ScratchpadService scratchpadService;
+
+        @MockitoSpyBean
+        private ScratchpadRepository repository;
+
+        @MockitoSpyBean
+        private ScratchpadPatchRepository patches;
+
+        @Autowired
+        private SqliteWriter writer;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @BeforeEach
+        void setUp() {
+                patches.deleteAll();
+                repository.deleteAll();
+                scratchpadService.reload();
+        }
+
+        @Test
+        @DisplayName("applyPatch - appends to the log and leaves the snapshot row alone")
+        void testPatchesAppendToLog() {
+                // Arrange
+                long base = scratchpadService.saveScratchpad("hello world").getVersion();
+
+                // Act
+                ScratchpadPatchResult first = scratchpadService.applyPatch(new ScratchpadEdit(base, 6, 5, "there"));
+                ScratchpadPatchResult second = scratchpadService
+                                .applyPatch(new ScratchpadEdit(first.getVersion(), 0, 0, "oh, "));
+
+                // Assert
+                assertThat(first.getStatus()).isEqualTo("Applied");
+                assertThat(second.getStatus()).isEqualTo("Applied");
+                assertThat(second.getVersion()).isEqualTo(base + 2);
+                assertThat(scratchpadService.getLastScratchpad().getContent()).isEqualTo("oh, hello there");
+                assertThat(scratchpadService.getLastScratchpad().getVersion()).isEqualTo(base + 2);
+                assertThat(patches.count()).isEqualTo(2);
+                assertThat(repository.findById(1L)).get().extracting(Scratchpad::getContent).isEqualTo("hello world");
+        }
+
+        @Test
+        @DisplayName("applyPatch - rejects stale and out-of-range edits without storing them")
+        void testRejectsBadPatches() {
+                // Arrange
+                long base = scratchpadService.saveScratchpad("abc").getVersion();
+                scratchpadService.applyPatch(new ScratchpadEdit(base, 3, 0, "d"));
+
+                // Act
+                ScratchpadPatchResult stale = scratchpadService.applyPatch(new ScratchpadEdit(base, 0, 1, "x"));
+                ScratchpadPatchResult outOfRange = scratchpadService
+                                .applyPatch(new ScratchpadEdit(base + 1, 2, 5, "x"));
+
+                // Assert
+                assertThat(stale.getStatus()).isEqualTo("Error: Version conflict");
+                assertThat(stale.getVersion()).isEqualTo(base + 1);
+                assertThat(outOfRange.getStatus()).isEqualTo("Error: Patch out of range");
+                assertThat(patches.count()).isEqualTo(1);
+                assertThat(scratchpadService.getLastScratchpad().getContent()).isEqualTo("abcd");
+        }
+
+        @Test
+        @DisplayName("applyPatch - a patch queued on one whose write fails gets a conflict and is not stored")
+        void testPatchOnFailedWriteIsRejected() throws Exception {
+                // Arrange - the first patch's insert will fail
+                long base = scratchpadService.saveScratchpad("abc").getVersion();
+                scratchpadService.flush();
+                doThrow(new IllegalStateException("disk full")).when(patches)
+                                .save(argThat(patch -> patch.getVersion() == base + 1));
+                CountDownLatch release = new CountDownLatch(1);
+                ExecutorService clients = Executors.newFixedThreadPool(2);
+                try {
+                        // Hold the writer so both patches are queued before either is stored
+                        writer.submit(() -> {
+                                try {
+                                        return release.await(10, TimeUnit.SECONDS);
+                                } catch (InterruptedException e) {
+                                        throw new IllegalStateException(e);
+                                }
+                        });
+
+                        // Act
+                        Future<ScratchpadPatchResult> first = clients.submit(
+                                        () -> scratchpadService.applyPatch(new ScratchpadEdit(base, 3, 0, "d")));
+                        awaitVersion(base + 1);
+                        Future<ScratchpadPatchResult> second = clients.submit(
+                                        () -> scratchpadService.applyPatch(new ScratchpadEdit(base + 1, 4, 0, "e")));
+                        awaitVersion(base + 2);
+                        release.countDown();
+
+                        // Assert
+                        assertThatThrownBy(() -> first.get(10, TimeUnit.SECONDS))
+                                        .isInstanceOf(ExecutionException.class)
+                                        .hasRootCauseMessage("disk full");
+                        ScratchpadPatchResult rejected = second.get(10, TimeUnit.SECONDS);
+                        assertThat(rejected.getStatus()).isEqualTo("Error: Version conflict");
+                        assertThat(rejected.getVersion()).isEqualTo(base);
+                } finally {
+                        release.countDown();
+                        clients.shutdownNow();
+                }
+                assertThat(patches.count()).isZero();
+                scratchpadService.reload();
+                assertThat(scratchpadService.getLastScratchpad().getContent()).isEqualTo("abc");
+                assertThat(scratchpadService.getLastScratchpad().getVersion()).isEqualTo(base);
+        }
+
+        @Test
+        @DisplayName("a reload replays the log over the snapshot")
+        void testReloadReplaysLog() {
+                // Arrange
+                long base = scratchpadService.saveScratchpad("draft").getVersion();
+                scratchpadService.applyPatch(new ScratchpadEdit(base, 5, 0, " two"));
+                scratchpadService.applyPatch(new ScratchpadEdit(base + 1, 0, 5, "final"));
+
+                // Act
+                scratchpadService.reload();
+                Scratchpad reloaded = scratchpadService.getLastScratchpad();
+
+                // Assert
+                assertThat(reloaded.getContent()).isEqualTo("final two");
+                assertThat(reloaded.getVersion()).isEqualTo(base + 2);
+        }
+
+        @Test
+        @DisplayName("a long log is compacted into the snapshot in the background")
+        void testCompactsLongLog() {
+                // Arrange
+                long version = scratchpadService.saveScratchpad("").getVersion();
+                StringBuilder expected = new StringBuilder();
+
+                // Act
+                for (int i = 0; i < ScratchpadService.COMPACT_AFTER; i++) {
+                        version = scratchpadService.applyPatch(new ScratchpadEdit(version, i, 0, "x")).getVersion();
+                        expected.append('x');
+                }
+                writer.execute(() -> null); // queued behind the compaction
+
+                // Assert
+                assertThat(patches.count()).isZero();
+                Scratchpad snapshot = repository.findById(1L).orElseThrow();
+                assertThat(snapshot.getContent()).isEqualTo(expected.toString());
+                assertThat(snapshot.getVersion()).isEqualTo(version);
+                assertThat(scratchpadService.getLastScratchpad().getContent()).isEqualTo(expected.toString());
+        }
+
+        @Test
+        @DisplayName("saveScratchpad - replaces the content and clears the log")
+        void testFullSaveClearsLog() {
+                // Arrange
+                long base = scratchpadService.saveScratchpad("one").getVersion();
+                scratchpadService.applyPatch(new ScratchpadEdit(base, 3, 0, " two"));
+
+                // Act
+                Scratchpad saved = scratchpadService.saveScratchpad("three");
+                scratchpadService.flush();
+
+                // Assert
+                assertThat(saved.getVersion()).isEqualTo(base + 2);
+                assertThat(patches.count()).isZero();
+                scratchpadService.reload();
+                assertThat(scratchpadService.getLastScratchpad().getContent()).isEqualTo("three");
+        }
+
+        @Test
+        @DisplayName("saveScratchpad - a burst of saves is read back at once and written once, after the delay")
+        void testSavesAreCoalesced() throws InterruptedException {
+                // Arrange
+                scratchpadService.saveScratchpad("before");
+                scratchpadService.flush();
+
+                // Act
+                for (int i = 1; i <= 20; i++) {
+                        scratchpadService.saveScratchpad("edit " + i);
+                }
+
+                // Assert - newest content served from memory while the row still holds the old one
+                assertThat(scratchpadService.getLastScratchpad().getContent()).isEqualTo("edit 20");
+                assertThat(storedContent()).isEqualTo("before");
+                long deadline = System.currentTimeMillis() + FLUSH_DELAY_MS + 5000;
+                while (!"edit 20".equals(storedContent()) && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(50);
+                }
+                assertThat(storedContent()).isEqualTo("edit 20");
+                assertThat(repository.findById(1L)).get().extracting(Scratchpad::getVersion)
+                                .isEqualTo(scratchpadService.getLastScratchpad().getVersion());
+        }
+
+        @Test
+        @DisplayName("saveScratchpad - each save pushes the write back while saves keep coming")
+        void testSavesAreDebounced() throws InterruptedException {
+                // Arrange
+                scratchpadService.saveScratchpad("before");
+                scratchpadService.flush();
+
+                // Act - saves spaced well inside the delay, for longer than the delay in total
+                for (int i = 1; i <= 6; i++) {
+                        scratchpadService.saveScratchpad("edit " + i);
+                        Thread.sleep(FLUSH_DELAY_MS / 3);
+                }
+
+                // Assert
+                assertThat(storedContent()).isEqualTo("before");
+                scratchpadService.flush();
+                assertThat(storedContent()).isEqualTo("edit 6");
+        }
+
+        @Test
+        @DisplayName("saveScratchpad - a burst that never pauses is written after the max wait")
+        void testMaxWaitBoundsBurst() throws InterruptedException {
+                // Arrange
+                scratchpadService.saveScratchpad("before");
+                scratchpadService.flush();
+                long deadline = System.currentTimeMillis() + FLUSH_MAX_WAIT_MS + 5000;
+
+                // Act - keep saving until the row changes
+                int saves = 0;
+                while ("before".equals(storedContent()) && System.currentTimeMillis() < deadline) {
+                        scratchpadService.saveScratchpad("edit " + ++saves);
+                        Thread.sleep(FLUSH_DELAY_MS / 3);
+                }
+
+                // Assert
+                assertThat(storedContent()).startsWith("edit ");
+                assertThat(saves).isGreaterThan(1);
+        }
+
+        @Test
+        @DisplayName("flush - a save whose write fails is kept and written again; a patch made on it gets a conflict")
+        void testFailedFlushKeepsSave() throws Exception {
+                // Arrange - snapshot writes fail until the flush has given up, retries included
+                scratchpadService.saveScratchpad("before");
+                scratchpadService.flush();
+                long saved = scratchpadService.saveScratchpad("after").getVersion();
+                AtomicBoolean diskFull = new AtomicBoolean(true);
+                doThrow(new IllegalStateException("disk full")).when(repository)
+                                .save(argThat(scratchpad -> diskFull.get()));
+                CountDownLatch release = new CountDownLatch(1);
+                ExecutorService clients = Executors.newFixedThreadPool(2);
+                try {
+                        // Hold the writer so the patch is made while the flush is still queued
+                        writer.submit(() -> {
+                                try {
+                                        return release.await(10, TimeUnit.SECONDS);
+                                } catch (InterruptedException e) {
+                                        throw new IllegalStateException(e);
+                                }
+                        });
+
+                        // Act
+                        Future<?> flushing = clients.submit(scratchpadService::flush);
+                        awaitQueuedWrites(1);
+                        Future<ScratchpadPatchResult> patching = clients.submit(
+                                        () -> scratchpadService.applyPatch(new ScratchpadEdit(saved, 5, 0, "!")));
+                        awaitVersion(saved + 1);
+                        release.countDown();
+
+                        // Assert
+                        assertThatThrownBy(() -> flushing.get(10, TimeUnit.SECONDS))
+                                        .isInstanceOf(ExecutionException.class)
+                                        .hasRootCauseMessage("disk full");
+                        diskFull.set(false);
+                        ScratchpadPatchResult rejected = patching.get(10, TimeUnit.SECONDS);
+                        assertThat(rejected.getStatus()).isEqualTo("Error: Version conflict");
+                        assertThat(rejected.getVersion()).isEqualTo(saved);
+                } finally {
+                        release.countDown();
+                        clients.shutdownNow();
+                }
+                assertThat(scratchpadService.getLastScratchpad().getContent()).isEqualTo("after");
+                long deadline = System.currentTimeMillis() + FLUSH_DELAY_MS + 5000;
+                while (!"after".equals(storedContent()) && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(50);
+                }
+                assertThat(storedContent()).isEqualTo("after");
+                assertThat(patches.count()).isZero();
+        }
+
+        @Test
+        @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+        @DisplayName("shutdown writes out a save still held in memory")
+        void testShutdownFlushesPendingSave() {
+                // Arrange
+                scratchpadService.saveScratchpad("unsaved at shutdown");
+
+                // Act
+                scratchpadService.stop();
+
+                // Assert
+                assertThat(storedContent()).isEqualTo("unsaved at shutdown");
+        }
+
+        private void awaitQueuedWrites(int count) throws InterruptedException {
+                long deadline = System.currentTimeMillis() + 5000;
+                while (meterRegistry.get("sqlite.writer.queue.size").gauge().value() < count
+                                && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(10);
+                }
+                assertThat(meterRegistry.get("sqlite.writer.queue.size").gauge().value()).isEqualTo(count);
+        }
+
+        // Patches take their version in memory before their write is queued
+        private void awaitVersion(long version) throws InterruptedException {
+                long deadline = System.currentTimeMillis() + 5000;
+                while (scratchpadService.getLastScratchpad().getVersion() != version
+                                && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(10);
+                }
+                assertThat(scratchpadService.getLastScratchpad().getVersion()).isEqualTo(version);
+        }
+
+        private String storedContent() {
+                return repository.findById(1L).map(Scratchpad::getContent).orElse(null);
+        }
+}
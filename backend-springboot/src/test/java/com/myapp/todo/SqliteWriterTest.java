@@ -0,0 +1,227 @@
+package com.myapp.todo;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Exercises the single-writer queue against a real SQLite file, where
+ * concurrent transactions would otherwise contend for the database lock.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class SqliteWriterTest {
+
+        @TempDir
+        static Path databaseDir;
+
+        @DynamicPropertySource
+        static void sqliteProperties(DynamicPropertyRegistry registry) {
+                registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + databaseDir.resolve("writer-test.db"));
+                registry.add("spring.datasource.driverClassName", () -> "org.sqlite.JDBC");
+                registry.add("spring.jpa.database-platform", () -> "org.hibernate.community.dialect.SQLiteDialect");
+        }
+
+        @Autowired
+        private SqliteWriter writer;
+
+        @Autowired
+        private TodoService todoService;
+
+        @Autowired
+        private ScratchpadService scratchpadService;
+
+        @Autowired
+        private TodoItemRepository repository;
+
+        @Autowired
+        private TodoReadModel readModel;
+
+        @Autowired
+        private DayOrderAllocator dayOrders;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Statistics statistics;
+
+        @BeforeEach
+        void setUp() {
+                // Write out a debounced save now, so it cannot hold the lock during the cleanup below
+                scratchpadService.flush();
+                repository.deleteAll();
+                readModel.reload();
+                dayOrders.clear();
+                statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                statistics.clear();
+        }
+
+        @Test
+        @DisplayName("concurrent writes from many threads all commit, in fewer transactions than writes")
+        void testConcurrentWritesAreGroupCommitted() throws Exception {
+                // Arrange
+                int threads = 16;
+                int writesPerThread = 20;
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+
+                // Act
+                for (int t = 0; t < threads; t++) {
+                        int thread = t;
+                        futures.add(executor.submit(() -> {
+                                start.await();
+                                for (int i = 0; i < writesPerThread; i++) {
+                                        todoService.addTask("Load", "Task " + thread + "-" + i, LocalDate.now(),
+                                                        null, null, null, null);
+                                        if (i % 5 == 0) {
+                                                scratchpadService.saveScratchpad("thread " + thread);
+                                        }
+                                }
+                                return null;
+                        }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                        future.get(60, TimeUnit.SECONDS); // rethrows any SQLITE_BUSY failure
+                }
+                executor.shutdown();
+
+                // Assert
+                int totalTasks = threads * writesPerThread;
+                assertThat(repository.count()).isEqualTo(totalTasks);
+                assertThat(todoService.getAll()).hasSize(totalTasks);
+                assertThat(statistics.getSuccessfulTransactionCount()).isLessThan(totalTasks);
+        }
+
+        @Test
+        @DisplayName("concurrent adds to one date get distinct dayOrders after the existing ones")
+        void testConcurrentAddsGetDistinctDayOrders() throws Exception {
+                // Arrange - a day that already holds two tasks
+                LocalDate day = LocalDate.of(2024, 3, 10);
+                repository.save(new TodoItem(day, 1, "Work", "Existing 1"));
+                repository.save(new TodoItem(day, 2, "Work", "Existing 2"));
+                int threads = 8;
+                int addsPerThread = 25;
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+
+                // Act
+                for (int t = 0; t < threads; t++) {
+                        int thread = t;
+                        futures.add(executor.submit(() -> {
+                                start.await();
+                                for (int i = 0; i < addsPerThread; i++) {
+                                        todoService.addTask("Work", "Task " + thread + "-" + i, day,
+                                                        null, null, null, null);
+                                }
+                                return null;
+                        }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                        future.get(60, TimeUnit.SECONDS);
+                }
+                executor.shutdown();
+
+                // Assert - no duplicates, and every new task lands after the existing ones
+                int total = 2 + threads * addsPerThread;
+                assertThat(repository.findByTaskDate(day))
+                                .extracting(TodoItem::getDayOrder)
+                                .doesNotHaveDuplicates()
+                                .hasSize(total)
+                                .filteredOn(order -> order > 2)
+                                .hasSize(total - 2);
+        }
+
+        @Test
+        @DisplayName("a failing write in a group fails alone and the rest still commit")
+        void testFailingWriteIsIsolated() throws Exception {
+                // Arrange - hold the writer so the next three writes queue up as one group
+                CountDownLatch release = new CountDownLatch(1);
+                CompletableFuture<Boolean> blocker = writer.submit(() -> {
+                        try {
+                                return release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return false;
+                        }
+                });
+                CompletableFuture<TodoItem> first = writer.submit(
+                                () -> repository.save(new TodoItem(LocalDate.now(), 1, "Work", "First")));
+                CompletableFuture<TodoItem> failing = writer.submit(() -> {
+                        repository.save(new TodoItem(LocalDate.now(), 2, "Work", "Rolled back"));
+                        throw new IllegalStateException("boom");
+                });
+                CompletableFuture<TodoItem> last = writer.submit(
+                                () -> repository.save(new TodoItem(LocalDate.now(), 3, "Work", "Last")));
+
+                // Act
+                release.countDown();
+
+                // Assert
+                assertThat(blocker.get(10, TimeUnit.SECONDS)).isTrue();
+                assertThat(first.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+                assertThat(last.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+                assertThatThrownBy(() -> failing.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+                assertThat(repository.findAll()).extracting(TodoItem::getName).containsExactlyInAnyOrder("First", "Last");
+        }
+
+        @Test
+        @DirtiesContext
+        @DisplayName("writes still queued when the writer stops fail instead of waiting forever")
+        void testQueuedWritesFailOnStop() throws Exception {
+                // Arrange - the running write interrupts the writer, which then exits with the next one still queued
+                CountDownLatch started = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                CompletableFuture<Boolean> blocker = writer.submit(() -> {
+                        started.countDown();
+                        try {
+                                return release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                                return false;
+                        } finally {
+                                Thread.currentThread().interrupt();
+                        }
+                });
+                assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+                CompletableFuture<TodoItem> queued = writer.submit(
+                                () -> repository.save(new TodoItem(LocalDate.now(), 1, "Work", "Queued")));
+                release.countDown();
+                assertThat(blocker.get(10, TimeUnit.SECONDS)).isTrue();
+
+                // Act
+                writer.stop();
+
+                // Assert
+                assertThatThrownBy(() -> queued.get(10, TimeUnit.SECONDS))
+                                .hasCauseInstanceOf(IllegalStateException.class);
+                assertThatThrownBy(() -> writer.submit(() -> null)).isInstanceOf(IllegalStateException.class);
+                assertThat(repository.count()).isZero();
+        }
+}
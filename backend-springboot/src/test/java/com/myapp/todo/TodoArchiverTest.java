@@ -0,0 +1,132 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.ChangeEvent;
+import com.myapp.todo.dto.TodoChanges;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archival against the embedded H2 database, with a batch size small enough
+ * that one run takes several batches.
+ */
+@SpringBootTest(properties = { "todo.archive.after-days=30", "todo.archive.batch-size=2",
+                "spring.jpa.properties.hibernate.generate_statistics=true" })
+@ActiveProfiles("test")
+class TodoArchiverTest {
+
+        @Autowired
+        private TodoArchiver archiver;
+
+        @Autowired
+        private TodoService todoService;
+
+        @Autowired
+        private TodoItemRepository repository;
+
+        @Autowired
+        private ArchivedTodoItemRepository archive;
+
+        @Autowired
+        private TodoReadModel readModel;
+
+        @Autowired
+        private TodoStatistics statistics;
+
+        @Autowired
+        private ChangeEventStream events;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @BeforeEach
+        void setUp() {
+                repository.deleteAll();
+                archive.deleteAll();
+                readModel.reload();
+                statistics.rebuild();
+        }
+
+        private TodoItem save(LocalDate date, String name, boolean complete) {
+                TodoItem item = new TodoItem(date, 1, "Work", name);
+                item.setComplete(complete);
+                item.setTimeTaken(10L);
+                return repository.save(item);
+        }
+
+        @Test
+        @DisplayName("archive - moves old completed tasks out of the hot table and keeps them readable")
+        void testArchivesOldCompletedTasks() {
+                // Arrange
+                LocalDate old = LocalDate.now().minusDays(100);
+                TodoItem first = save(old, "Old done 1", true);
+                TodoItem second = save(old.plusDays(1), "Old done 2", true);
+                TodoItem third = save(old.plusDays(2), "Old done 3", true);
+                save(old, "Old open", false);
+                save(LocalDate.now().minusDays(5), "Recent done", true);
+                readModel.reload();
+                statistics.rebuild();
+                long since = todoService.getChangesSince(0, 500).getVersion();
+                Mono<List<ServerSentEvent<ChangeEvent>>> received = events.subscribe().collectList().cache();
+                received.subscribe();
+
+                // Act
+                int archived = archiver.archive();
+
+                // Assert
+                assertThat(archived).isEqualTo(3);
+                assertThat(repository.findAll()).extracting(TodoItem::getName)
+                                .containsExactlyInAnyOrder("Old open", "Recent done");
+                assertThat(todoService.getAll()).extracting(TodoItem::getName)
+                                .containsExactlyInAnyOrder("Old open", "Recent done");
+                List<TodoItem> history = todoService.getHistory(old, LocalDate.now(), 10);
+                assertThat(history).extracting(TodoItem::getName)
+                                .containsExactly("Old done 1", "Old done 2", "Old done 3");
+                assertThat(history.get(0).isComplete()).isTrue();
+                assertThat(history.get(0).getTimeTaken()).isEqualTo(10L);
+                TodoChanges changes = todoService.getChangesSince(since, 500);
+                assertThat(changes.getDeleted()).containsExactlyInAnyOrder(first.getId(), second.getId(),
+                                third.getId());
+                // The first batch tells open streams to resync instead of sending an event per task
+                assertThat(received.block(Duration.ofSeconds(5))).extracting(ServerSentEvent::event)
+                                .containsExactly(ChangeEventStream.RESYNC);
+                // Statistics still count archived tasks, and a recount agrees
+                assertThat(statistics.stats(null, null).getTotal().getTasks()).isEqualTo(5);
+                assertThat(statistics.rebuild()).isTrue();
+                assertThat(archiver.archive()).isZero();
+        }
+
+        @Test
+        @DisplayName("archive - inserts each batch without reading it back and deletes it in one statement")
+        void testArchiveBatchStatements() {
+                // Arrange - exactly one full batch, so a second, empty batch ends the run
+                LocalDate old = LocalDate.now().minusDays(100);
+                save(old, "Old done 1", true);
+                save(old, "Old done 2", true);
+                Statistics hibernate = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                hibernate.clear();
+
+                // Act
+                int archived = archiver.archive();
+
+                // Assert - two batch selects, an archive row and a tombstone per task, one delete
+                assertThat(archived).isEqualTo(2);
+                assertThat(hibernate.getPrepareStatementCount()).isEqualTo(2 + 2 * 2 + 1);
+                assertThat(archive.count()).isEqualTo(2);
+                assertThat(repository.count()).isZero();
+        }
+}
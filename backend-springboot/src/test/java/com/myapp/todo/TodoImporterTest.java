@@ -0,0 +1,160 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.ChangeEvent;
+import com.myapp.todo.dto.ImportResult;
+import com.myapp.todo.dto.TodoOperationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk import against a real SQLite file, where the batch insert has to share
+ * the writer's connection and the search triggers fire on imported rows.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoImporterTest {
+
+        private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+        @TempDir
+        static Path databaseDir;
+
+        @DynamicPropertySource
+        static void sqliteProperties(DynamicPropertyRegistry registry) {
+                registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + databaseDir.resolve("import-test.db"));
+                registry.add("spring.datasource.driverClassName", () -> "org.sqlite.JDBC");
+                registry.add("spring.jpa.database-platform", () -> "org.hibernate.community.dialect.SQLiteDialect");
+        }
+
+        @Autowired
+        private TodoService todoService;
+
+        @Autowired
+        private TodoItemRepository repository;
+
+        @Autowired
+        private TodoReadModel readModel;
+
+        @Autowired
+        private DayOrderAllocator dayOrders;
+
+        @Autowired
+        private TodoStatistics statistics;
+
+        @Autowired
+        private ChangeEventStream events;
+
+        @BeforeEach
+        void setUp() {
+                repository.deleteAll();
+                readModel.reload();
+                dayOrders.clear();
+                statistics.rebuild();
+        }
+
+        private static InputStream body(String text) {
+                return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("importJson - assigns ids, versions and dayOrders after existing tasks and skips bad rows")
+        void testImportJson() {
+                // Arrange
+                TodoItem existing = todoService.addTask("Work", "Existing", DAY, null, null, null, null).getItem();
+                long since = todoService.getChangesSince(0, 500).getVersion();
+                String json = "[{\"name\": \"Quarterly report\", \"category\": \"Work\", \"taskDate\": \"2024-05-01\","
+                                + " \"complete\": true, \"timeTaken\": 30, \"id\": 1, \"dayOrder\": 1},"
+                                + " {\"name\": \"Water plants\", \"category\": \"Home\", \"taskDate\": \"2024-05-02\"},"
+                                + " {\"name\": \"No date\"},"
+                                + " {\"name\": \"Bad date\", \"taskDate\": \"2024-13-40\"}]";
+
+                // Act
+                ImportResult result = todoService.importJson(body(json));
+
+                // Assert
+                assertThat(result.getStatus()).isEqualTo("Imported");
+                assertThat(result.getImported()).isEqualTo(2);
+                assertThat(result.getSkipped()).isEqualTo(2);
+                assertThat(result.getErrors()).hasSize(2);
+                assertThat(result.getErrors().get(0)).startsWith("Row 3: missing taskDate");
+                assertThat(result.getErrors().get(1)).startsWith("Row 4:");
+                List<TodoItem> imported = todoService.search("quarterly", 10);
+                assertThat(imported).singleElement().satisfies(item -> {
+                        assertThat(item.getId()).isGreaterThan(existing.getId());
+                        assertThat(item.getDayOrder()).isGreaterThan(existing.getDayOrder());
+                        assertThat(item.isComplete()).isTrue();
+                        assertThat(item.getTimeTaken()).isEqualTo(30L);
+                        assertThat(item.getRepeatType()).isEqualTo(TodoItem.RepeatPattern.NONE);
+                });
+                assertThat(todoService.getAll()).hasSize(3);
+                assertThat(todoService.getChangesSince(since, 500).getItems()).hasSize(2);
+                assertThat(statistics.rebuild()).isTrue();
+                // The id sequence moved past the imported block
+                TodoOperationResult next = todoService.addTask("Work", "After import", DAY, null, null, null, null);
+                assertThat(next.getItem().getId()).isGreaterThan(imported.get(0).getId());
+        }
+
+        @Test
+        @DisplayName("importCsv - reads quoted fields and writes more than one chunk")
+        void testImportCsv() {
+                // Arrange
+                StringBuilder csv = new StringBuilder("﻿name,category,taskDate,priority\r\n");
+                csv.append("\"Call \"\"Bob\"\", then email\nthe team\",Work,2024-05-01,2\r\n");
+                int rows = TodoImporter.CHUNK_SIZE + 10;
+                for (int i = 0; i < rows; i++) {
+                        csv.append("Task ").append(i).append(",Load,").append(DAY.plusDays(i % 7)).append(",\n");
+                }
+                Mono<List<ServerSentEvent<ChangeEvent>>> received = events.subscribe().collectList().cache();
+                received.subscribe();
+
+                // Act
+                ImportResult result = todoService.importCsv(body(csv.toString()));
+
+                // Assert
+                assertThat(result.getStatus()).isEqualTo("Imported");
+                assertThat(result.getImported()).isEqualTo(rows + 1);
+                assertThat(repository.count()).isEqualTo(rows + 1);
+                assertThat(todoService.getAll()).hasSize(rows + 1);
+                assertThat(todoService.getGroupedByDate(DAY, DAY).getItemsByDate().get(DAY.toString()))
+                                .extracting(TodoItem::getDayOrder).doesNotHaveDuplicates();
+                assertThat(todoService.search("bob", 10)).singleElement().satisfies(item -> {
+                        assertThat(item.getName()).isEqualTo("Call \"Bob\", then email\nthe team");
+                        assertThat(item.getPriority()).isEqualTo(2);
+                });
+                // The first chunk tells open streams to resync instead of sending an event per task
+                assertThat(received.block(Duration.ofSeconds(5))).extracting(ServerSentEvent::event)
+                                .containsExactly(ChangeEventStream.RESYNC);
+        }
+
+        @Test
+        @DisplayName("importJson - malformed input stops the import and keeps the rows before it")
+        void testMalformedJsonStops() {
+                // Act
+                ImportResult result = todoService.importJson(
+                                body("[{\"name\": \"Kept\", \"taskDate\": \"2024-05-01\"}, {\"name\": "));
+
+                // Assert
+                assertThat(result.getStatus()).startsWith("Error: Malformed input at row 2");
+                assertThat(result.getImported()).isEqualTo(1);
+                assertThat(repository.findAll()).extracting(TodoItem::getName).containsExactly("Kept");
+        }
+}
@@ -0,0 +1,177 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.ImportResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pooled id allocation against a real SQLite file. Each test starts the
+ * application itself so it can stop it and start it again on the same file,
+ * the way a restart would.
+ */
+class TodoItemIdGeneratorTest {
+
+        private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+        @TempDir
+        Path databaseDir;
+
+        private ConfigurableApplicationContext start() {
+                return new SpringApplicationBuilder(TodoApplication.class).profiles("test").run(
+                                "--spring.main.web-application-type=none",
+                                "--spring.main.banner-mode=off",
+                                "--spring.datasource.url=jdbc:sqlite:" + databaseDir.resolve("id-test.db"),
+                                "--spring.datasource.driverClassName=org.sqlite.JDBC",
+                                "--spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+                                // Keep the tables when the context closes, as in production
+                                "--spring.jpa.hibernate.ddl-auto=update");
+        }
+
+        private static long nextVal(ConfigurableApplicationContext context) {
+                Long next = context.getBean(JdbcTemplate.class).queryForObject(
+                                "select next_val from " + TodoItemIdGenerator.TABLE, Long.class);
+                assertThat(next).isNotNull();
+                return next;
+        }
+
+        @Test
+        @DisplayName("saves take ids from an in-memory block and reserve a new block only when it runs out")
+        void testIdsAreReservedInBlocks() {
+                try (ConfigurableApplicationContext context = start()) {
+                        // Arrange
+                        TodoItemRepository repository = context.getBean(TodoItemRepository.class);
+                        SqliteWriter writer = context.getBean(SqliteWriter.class);
+                        long first = nextVal(context);
+                        int count = TodoItemIdGenerator.BLOCK_SIZE + 1;
+
+                        // Act
+                        List<Long> ids = writer.execute(() -> {
+                                List<Long> saved = new ArrayList<>();
+                                for (int i = 0; i < count; i++) {
+                                        saved.add(repository.save(new TodoItem(DAY, i + 1, "Work", "Task " + i)).getId());
+                                }
+                                return saved;
+                        });
+
+                        // Assert - consecutive ids, and the table moved by exactly two blocks
+                        assertThat(ids).first().isEqualTo(first);
+                        assertThat(ids).last().isEqualTo(first + count - 1);
+                        assertThat(ids).doesNotHaveDuplicates();
+                        assertThat(nextVal(context)).isEqualTo(first + 2L * TodoItemIdGenerator.BLOCK_SIZE);
+                }
+        }
+
+        @Test
+        @DisplayName("ids stay unique after a rolled-back reservation, a bulk import and a restart")
+        void testIdsAreUniqueAcrossRestarts() {
+                List<Long> before = new ArrayList<>();
+                try (ConfigurableApplicationContext context = start()) {
+                        TodoService todoService = context.getBean(TodoService.class);
+                        TodoItemRepository repository = context.getBean(TodoItemRepository.class);
+                        SqliteWriter writer = context.getBean(SqliteWriter.class);
+                        long first = nextVal(context);
+
+                        // The first save reserves a block, then its transaction rolls back and undoes the reservation
+                        assertThatThrownBy(() -> writer.execute(() -> {
+                                repository.save(new TodoItem(DAY, 1, "Work", "Rolled back"));
+                                throw new IllegalStateException("boom");
+                        })).isInstanceOf(IllegalStateException.class);
+                        assertThat(nextVal(context)).isEqualTo(first);
+
+                        // The rest of that block is dropped, so the next save reserves a committed block past it
+                        before.add(todoService.addTask("Work", "Added", DAY, null, null, null, null).getItem().getId());
+                        assertThat(before.get(0)).isGreaterThanOrEqualTo(first + TodoItemIdGenerator.BLOCK_SIZE)
+                                        .isLessThan(nextVal(context));
+                        ImportResult imported = context.getBean(TodoImporter.class).importJson(new ByteArrayInputStream(
+                                        ("[{\"name\": \"Imported 1\", \"taskDate\": \"2024-05-01\"},"
+                                                        + " {\"name\": \"Imported 2\", \"taskDate\": \"2024-05-01\"}]")
+                                                        .getBytes(StandardCharsets.UTF_8)));
+                        assertThat(imported.getImported()).isEqualTo(2);
+                        before.add(todoService.addTask("Work", "Added again", DAY, null, null, null, null).getItem()
+                                        .getId());
+                        repository.findAll().forEach(item -> before.add(item.getId()));
+                        assertThat(repository.count()).isEqualTo(4);
+                }
+
+                try (ConfigurableApplicationContext context = start()) {
+                        // Act
+                        TodoService todoService = context.getBean(TodoService.class);
+                        long after = todoService.addTask("Work", "After restart", DAY, null, null, null, null).getItem()
+                                        .getId();
+
+                        // Assert
+                        assertThat(before).allSatisfy(id -> assertThat(id).isLessThan(after));
+                        assertThat(context.getBean(TodoItemRepository.class).findAll()).extracting(TodoItem::getId)
+                                        .hasSize(5).doesNotHaveDuplicates();
+                }
+        }
+
+        @Test
+        @DisplayName("a restart never hands out the id of an archived or deleted task")
+        void testArchivedAndDeletedIdsAreNotReused() {
+                long archived;
+                long deleted;
+                try (ConfigurableApplicationContext context = start()) {
+                        TodoService todoService = context.getBean(TodoService.class);
+                        archived = todoService.addTask("Work", "Archived", DAY, null, null, null, null).getItem().getId();
+                        deleted = todoService.addTask("Work", "Deleted", DAY, null, null, null, null).getItem().getId();
+                        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                        jdbcTemplate.update("insert into archived_todo_item (id, name, complete, in_progress, long_term)"
+                                        + " select id, name, complete, in_progress, long_term from todo_item where id = ?",
+                                        archived);
+                        jdbcTemplate.update("delete from todo_item where id = ?", archived);
+                        todoService.deleteTask(deleted);
+                        // A table that fell behind, as one written by an older build could have
+                        jdbcTemplate.update("update " + TodoItemIdGenerator.TABLE + " set next_val = 1");
+                }
+
+                try (ConfigurableApplicationContext context = start()) {
+                        // Act
+                        long after = context.getBean(TodoService.class)
+                                        .addTask("Work", "After restart", DAY, null, null, null, null).getItem().getId();
+
+                        // Assert
+                        assertThat(after).isGreaterThan(archived).isGreaterThan(deleted);
+                }
+        }
+
+        @Test
+        @DisplayName("an import chunk that fails rolls its id reservation back with the insert")
+        void testFailedImportReleasesReservation() {
+                try (ConfigurableApplicationContext context = start()) {
+                        // Arrange
+                        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                        jdbcTemplate.execute("create trigger reject_poison before insert on todo_item"
+                                        + " when new.name = 'Poison' begin select raise(abort, 'poisoned'); end");
+                        long first = nextVal(context);
+
+                        // Act
+                        assertThatThrownBy(() -> context.getBean(TodoImporter.class).importJson(new ByteArrayInputStream(
+                                        ("[{\"name\": \"Fine\", \"taskDate\": \"2024-05-01\"},"
+                                                        + " {\"name\": \"Poison\", \"taskDate\": \"2024-05-01\"}]")
+                                                        .getBytes(StandardCharsets.UTF_8))))
+                                        .hasMessageContaining("poisoned");
+
+                        // Assert - nothing written, the table is untouched, and later ids skip the reserved range
+                        assertThat(context.getBean(TodoItemRepository.class).count()).isZero();
+                        assertThat(nextVal(context)).isEqualTo(first);
+                        long after = context.getBean(TodoService.class)
+                                        .addTask("Work", "After", DAY, null, null, null, null).getItem().getId();
+                        assertThat(after).isGreaterThanOrEqualTo(first + 2);
+                }
+        }
+}
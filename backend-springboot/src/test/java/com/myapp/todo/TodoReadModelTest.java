@@ -0,0 +1,164 @@
+package com.myapp.todo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoReadModelTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+    @Mock
+    private TodoItemRepository repository;
+
+    @InjectMocks
+    private TodoReadModel readModel;
+
+    private static TodoItem item(long id, LocalDate date, int dayOrder, String name) {
+        TodoItem item = new TodoItem(date, dayOrder, "Work", name);
+        item.setId(id);
+        return item;
+    }
+
+    @Test
+    void testLoadsOnceAndSortsByDayOrder() {
+        // Arrange
+        when(repository.findAll()).thenReturn(List.of(
+                item(1L, DAY, 2, "Second"),
+                item(2L, DAY, 1, "First"),
+                item(3L, DAY.plusDays(1), 1, "Tomorrow")));
+
+        // Act
+        NavigableMap<LocalDate, List<TodoItem>> window = readModel.window(DAY, DAY.plusDays(1));
+        readModel.all();
+
+        // Assert
+        assertEquals(List.of(DAY, DAY.plusDays(1)), List.copyOf(window.keySet()));
+        assertEquals("First", window.get(DAY).get(0).getName());
+        assertEquals("Second", window.get(DAY).get(1).getName());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void testSnapshotIsUnaffectedByLaterWrites() {
+        // Arrange
+        when(repository.findAll()).thenReturn(List.of(item(1L, DAY, 1, "Original")));
+        NavigableMap<LocalDate, List<TodoItem>> before = readModel.window(DAY, DAY.plusDays(7));
+
+        // Act - move the task to another day, then add and delete others
+        readModel.put(item(1L, DAY.plusDays(2), 1, "Moved"));
+        readModel.put(item(2L, DAY, 1, "Added"));
+        readModel.remove(2L);
+        NavigableMap<LocalDate, List<TodoItem>> after = readModel.window(DAY, DAY.plusDays(7));
+
+        // Assert
+        assertEquals("Original", before.get(DAY).get(0).getName());
+        assertEquals(1, before.size());
+        assertFalse(after.containsKey(DAY));
+        assertEquals("Moved", after.get(DAY.plusDays(2)).get(0).getName());
+    }
+
+    @Test
+    void testRemoveAllDropsABatch() {
+        // Arrange
+        TodoItem recurring = item(3L, DAY.plusDays(1), 1, "Recurring");
+        recurring.setRepeatType(TodoItem.RepeatPattern.EVERY_X_DAYS);
+        recurring.setRepeatDuration(1);
+        when(repository.findAll()).thenReturn(List.of(
+                item(1L, DAY, 1, "Gone"),
+                item(2L, DAY, 2, "Kept"),
+                recurring,
+                item(4L, DAY.plusDays(2), 1, "Also gone")));
+        readModel.all();
+
+        // Act
+        readModel.removeAll(List.of(1L, 3L, 4L, 99L));
+
+        // Assert
+        NavigableMap<LocalDate, List<TodoItem>> window = readModel.window(DAY, DAY.plusDays(7));
+        assertEquals(List.of(DAY), List.copyOf(window.keySet()));
+        assertEquals("Kept", window.get(DAY).get(0).getName());
+        assertTrue(readModel.recurring().isEmpty());
+    }
+
+    @Test
+    void testStoresCopiesOfEntities() {
+        // Arrange
+        when(repository.findAll()).thenReturn(List.of());
+        readModel.all();
+        TodoItem entity = item(1L, DAY, 1, "Name");
+
+        // Act
+        readModel.put(entity);
+        entity.setName("Mutated after save");
+
+        // Assert
+        assertEquals("Name", readModel.window(DAY, DAY).get(DAY).get(0).getName());
+    }
+
+    @Test
+    void testWritesBeforeFirstReadAreLeftToTheLoad() {
+        // Act
+        readModel.put(item(1L, DAY, 1, "Unseen"));
+        readModel.remove(1L);
+
+        // Assert
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testWritesDuringLoadDoNotWaitAndAreReplayed() {
+        // Arrange - while the table is being read, the writer commits changes the read
+        // already missed; they run on another thread and would time out on a held lock
+        when(repository.findAll()).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> {
+                readModel.put(item(1L, DAY.plusDays(1), 1, "Moved"));
+                readModel.putAll(List.of(item(3L, DAY, 2, "Added")));
+                readModel.remove(2L);
+            }).get(5, TimeUnit.SECONDS);
+            return List.of(item(1L, DAY, 1, "Original"), item(2L, DAY, 3, "Deleted"));
+        });
+
+        // Act
+        readModel.load();
+        NavigableMap<LocalDate, List<TodoItem>> window = readModel.window(DAY, DAY.plusDays(1));
+
+        // Assert
+        assertEquals(List.of("Added"), window.get(DAY).stream().map(TodoItem::getName).toList());
+        assertEquals(List.of("Moved"), window.get(DAY.plusDays(1)).stream().map(TodoItem::getName).toList());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void testTracksIncompleteRecurringTasks() {
+        // Arrange
+        TodoItem daily = item(1L, DAY, 1, "Daily");
+        daily.setRepeatType(TodoItem.RepeatPattern.EVERY_X_DAYS);
+        daily.setRepeatDuration(1);
+        when(repository.findAll()).thenReturn(List.of(daily, item(2L, DAY, 2, "Once")));
+
+        // Act
+        List<TodoItem> loaded = readModel.recurring();
+        TodoItem completed = new TodoItem(daily);
+        completed.setComplete(true);
+        readModel.put(completed);
+        List<TodoItem> afterComplete = readModel.recurring();
+
+        // Assert
+        assertEquals(1, loaded.size());
+        assertEquals(1L, loaded.get(0).getId());
+        assertTrue(afterComplete.isEmpty());
+    }
+}
@@ -1,16 +1,30 @@
 package com.myapp.todo;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myapp.todo.dto.ImportResult;
+import com.myapp.todo.dto.ScratchpadEdit;
+import com.myapp.todo.dto.ScratchpadPatchResult;
+import com.myapp.todo.dto.TimeSeries;
+import com.myapp.todo.dto.TodoChanges;
+import com.myapp.todo.dto.TodoFieldUpdate;
 import com.myapp.todo.dto.TodoOperationResult;
+import com.myapp.todo.dto.TodoStats;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.http.*;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
@@ -33,6 +47,9 @@ class TodoRestControllerIntegrationTest {
         private static final ParameterizedTypeReference<List<TodoItem>> TODO_ITEM_LIST_TYPE = new ParameterizedTypeReference<List<TodoItem>>() {
         };
 
+        private static final ParameterizedTypeReference<List<TodoOperationResult>> OPERATION_RESULT_LIST_TYPE = new ParameterizedTypeReference<List<TodoOperationResult>>() {
+        };
+
         @LocalServerPort
         private int port;
 
@@ -42,12 +59,29 @@ class TodoRestControllerIntegrationTest {
         @Autowired
         private TodoItemRepository repository;
 
+        @Autowired
+        private TodoReadModel readModel;
+
+        @Autowired
+        private TodoStatistics statistics;
+
+        @Autowired
+        private ArchivedTodoItemRepository archive;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
         private String baseUrl;
 
         @BeforeEach
         void setUp() {
                 baseUrl = "http://localhost:" + port + "/todo";
                 repository.deleteAll();
+                readModel.reload();
+                statistics.rebuild();
         }
 
         @Test
@@ -477,6 +511,538 @@ class TodoRestControllerIntegrationTest {
                 assertThat(response.getBody().getItem()).isNull();
         }
 
+        @Test
+        @Order(17)
+        @DisplayName("GET /todo/allbydate?from&to - should only return tasks inside the window")
+        void testGetAllByDateWindow() {
+                // Arrange
+                TodoItem todayTask = createTask("Today Task", "Work");
+                TodoItem movedTask = createTask("Moved Task", "Work");
+                java.net.URI moveUrl = UriComponentsBuilder.fromUriString(baseUrl + "/update")
+                                .queryParam("id", movedTask.getId())
+                                .queryParam("field", "taskDate")
+                                .queryParam("value", LocalDate.now().minusYears(2).toString())
+                                .build()
+                                .toUri();
+                restTemplate.postForEntity(moveUrl, null, TodoOperationResult.class);
+
+                java.net.URI url = UriComponentsBuilder.fromUriString(baseUrl + "/allbydate")
+                                .queryParam("from", LocalDate.now().minusDays(1).toString())
+                                .queryParam("to", LocalDate.now().plusDays(1).toString())
+                                .build()
+                                .toUri();
+
+                // Act
+                ResponseEntity<GroupedTodoItems> response = restTemplate.getForEntity(url, GroupedTodoItems.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody()).isNotNull();
+                assertThat(response.getBody().getItemsByDate()).containsOnlyKeys(LocalDate.now().toString());
+                assertThat(response.getBody().getItemsByDate().get(LocalDate.now().toString()))
+                                .extracting(TodoItem::getId)
+                                .containsExactly(todayTask.getId());
+        }
+
+        @Test
+        @Order(17)
+        @DisplayName("GET /todo/allbydate - should return tasks of any age without a window")
+        void testGetAllByDateWithoutWindow() {
+                // Arrange - an incomplete task well past any default window, and one far ahead
+                TodoItem overdueTask = createTask("Overdue Task", "Work");
+                TodoItem laterTask = createTask("Later Task", "Work");
+                String overdueDate = LocalDate.now().minusYears(2).toString();
+                String laterDate = LocalDate.now().plusYears(1).toString();
+                restTemplate.postForEntity(UriComponentsBuilder.fromUriString(baseUrl + "/update")
+                                .queryParam("id", overdueTask.getId())
+                                .queryParam("field", "taskDate")
+                                .queryParam("value", overdueDate)
+                                .build()
+                                .toUri(), null, TodoOperationResult.class);
+                restTemplate.postForEntity(UriComponentsBuilder.fromUriString(baseUrl + "/update")
+                                .queryParam("id", laterTask.getId())
+                                .queryParam("field", "taskDate")
+                                .queryParam("value", laterDate)
+                                .build()
+                                .toUri(), null, TodoOperationResult.class);
+
+                // Act
+                ResponseEntity<GroupedTodoItems> response = restTemplate.getForEntity(
+                                baseUrl + "/allbydate", GroupedTodoItems.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody()).isNotNull();
+                assertThat(response.getBody().getItemsByDate()).containsOnlyKeys(overdueDate, laterDate);
+                assertThat(response.getBody().getItemsByDate().get(overdueDate))
+                                .extracting(TodoItem::getId)
+                                .containsExactly(overdueTask.getId());
+        }
+
+        @Test
+        @Order(18)
+        @DisplayName("POST /todo/update/batch - should apply several updates and report each one")
+        void testBatchUpdate() {
+                // Arrange
+                TodoItem task1 = createTask("Task 1", "Work");
+                TodoItem task2 = createTask("Task 2", "Work");
+                List<TodoFieldUpdate> updates = List.of(
+                                new TodoFieldUpdate(task1.getId(), "dayOrder", "2"),
+                                new TodoFieldUpdate(task2.getId(), "dayOrder", "1"),
+                                new TodoFieldUpdate(task2.getId(), "complete", "true"),
+                                new TodoFieldUpdate(task1.getId(), "invalidField", "value"));
+
+                // Act
+                ResponseEntity<List<TodoOperationResult>> response = restTemplate.exchange(
+                                baseUrl + "/update/batch",
+                                HttpMethod.POST,
+                                new HttpEntity<>(updates),
+                                OPERATION_RESULT_LIST_TYPE);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody()).isNotNull();
+                assertThat(response.getBody()).extracting(TodoOperationResult::getStatus)
+                                .containsExactly("Updated", "Updated", "Updated", "Error: Invalid field");
+                assertThat(response.getBody().get(2).getItem().isComplete()).isTrue();
+
+                ResponseEntity<GroupedTodoItems> grouped = restTemplate.getForEntity(
+                                baseUrl + "/allbydate", GroupedTodoItems.class);
+                assertThat(grouped.getBody()).isNotNull();
+                assertThat(grouped.getBody().getItemsByDate().get(LocalDate.now().toString()))
+                                .extracting(TodoItem::getId)
+                                .containsExactly(task2.getId(), task1.getId());
+        }
+
+        @Test
+        @Order(19)
+        @DisplayName("GET /todo/export - should stream every task as newline-delimited JSON")
+        void testExportNdjson() throws Exception {
+                // Arrange
+                TodoItem task1 = createTask("Task 1", "Work");
+                TodoItem task2 = createTask("Task 2", "Home");
+
+                // Act
+                ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/export", String.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                MediaType contentType = Objects.requireNonNull(response.getHeaders().getContentType());
+                assertThat(contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)).isTrue();
+                List<String> lines = Objects.requireNonNull(response.getBody()).lines().toList();
+                assertThat(lines).hasSize(2);
+                assertThat(objectMapper.readValue(lines.get(0), TodoItem.class).getId()).isEqualTo(task1.getId());
+                assertThat(objectMapper.readValue(lines.get(1), TodoItem.class).getCategory()).isEqualTo("Home");
+                assertThat(objectMapper.readValue(lines.get(1), TodoItem.class).getId()).isEqualTo(task2.getId());
+        }
+
+        @Test
+        @Order(20)
+        @DisplayName("POST /todo/move - should move a task within its day")
+        void testMoveTask() {
+                // Arrange
+                TodoItem task1 = createTask("Task 1", "Work");
+                createTask("Task 2", "Work");
+                TodoItem task3 = createTask("Task 3", "Work");
+                String today = LocalDate.now().toString();
+
+                java.net.URI moveUrl = UriComponentsBuilder.fromUriString(baseUrl + "/move")
+                                .queryParam("id", task3.getId())
+                                .queryParam("taskDate", today)
+                                .queryParam("index", 0)
+                                .build()
+                                .toUri();
+
+                // Act
+                ResponseEntity<TodoOperationResult> response = restTemplate.postForEntity(
+                                moveUrl, null, TodoOperationResult.class);
+                ResponseEntity<GroupedTodoItems> grouped = restTemplate.getForEntity(
+                                baseUrl + "/allbydate", GroupedTodoItems.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody()).isNotNull();
+                assertThat(response.getBody().getItem().getDayOrder()).isLessThan(task1.getDayOrder());
+                assertThat(grouped.getBody()).isNotNull();
+                assertThat(grouped.getBody().getItemsByDate().get(today))
+                                .extracting(TodoItem::getName)
+                                .containsExactly("Task 3", "Task 1", "Task 2");
+        }
+
+        @Test
+        @Order(21)
+        @DisplayName("GET /todo/allbydate?expand=true - should include projected occurrences of recurring tasks")
+        void testAllByDateExpandsRecurringTasks() {
+                // Arrange
+                LocalDate today = LocalDate.now();
+                java.net.URI addUrl = UriComponentsBuilder.fromUriString(baseUrl + "/add")
+                                .queryParam("name", "Stretch")
+                                .queryParam("category", "Health")
+                                .queryParam("taskDate", today.toString())
+                                .queryParam("repeatType", "EVERY_X_DAYS")
+                                .queryParam("repeatDuration", 2)
+                                .build()
+                                .toUri();
+                restTemplate.postForEntity(addUrl, null, TodoOperationResult.class);
+
+                java.net.URI plainUrl = UriComponentsBuilder.fromUriString(baseUrl + "/allbydate")
+                                .queryParam("from", today.toString())
+                                .queryParam("to", today.plusDays(6).toString())
+                                .build()
+                                .toUri();
+                java.net.URI expandedUrl = UriComponentsBuilder.fromUri(plainUrl)
+                                .queryParam("expand", true)
+                                .build()
+                                .toUri();
+
+                // Act
+                ResponseEntity<GroupedTodoItems> plain = restTemplate.getForEntity(plainUrl, GroupedTodoItems.class);
+                ResponseEntity<GroupedTodoItems> expanded = restTemplate.getForEntity(expandedUrl, GroupedTodoItems.class);
+                String plainJson = restTemplate.getForObject(plainUrl, String.class);
+                String expandedJson = restTemplate.getForObject(expandedUrl, String.class);
+
+                // Assert - only projected occurrences carry the virtual flag
+                assertThat(plainJson).doesNotContain("\"virtual\"");
+                assertThat(expandedJson).contains("\"virtual\":true").doesNotContain("\"virtual\":false");
+                assertThat(plain.getBody()).isNotNull();
+                assertThat(plain.getBody().getItemsByDate()).containsOnlyKeys(today.toString());
+                assertThat(expanded.getBody()).isNotNull();
+                assertThat(expanded.getBody().getItemsByDate()).containsOnlyKeys(today.toString(),
+                                today.plusDays(2).toString(), today.plusDays(4).toString(), today.plusDays(6).toString());
+                assertThat(expanded.getBody().getItemsByDate().get(today.plusDays(4).toString()))
+                                .singleElement()
+                                .satisfies(occurrence -> {
+                                        assertThat(occurrence.isVirtual()).isTrue();
+                                        assertThat(occurrence.getName()).isEqualTo("Stretch");
+                                });
+        }
+
+        @Test
+        @Order(22)
+        @DisplayName("GET /todo/allbydate, /todo/all - should answer 304 until a task changes")
+        void testConditionalGetOnTaskLists() {
+                // Arrange
+                TodoItem task = createTask("Polled", "Work");
+                ResponseEntity<String> first = restTemplate.getForEntity(baseUrl + "/allbydate", String.class);
+                ResponseEntity<String> firstAll = restTemplate.getForEntity(baseUrl + "/all", String.class);
+                String etag = Objects.requireNonNull(first.getHeaders().getETag());
+                String allEtag = Objects.requireNonNull(firstAll.getHeaders().getETag());
+
+                // Act
+                ResponseEntity<String> unchanged = getIfNoneMatch(baseUrl + "/allbydate", etag);
+                ResponseEntity<String> unchangedAll = getIfNoneMatch(baseUrl + "/all", allEtag);
+                java.net.URI updateUrl = UriComponentsBuilder.fromUriString(baseUrl + "/update")
+                                .queryParam("id", task.getId())
+                                .queryParam("field", "taskName")
+                                .queryParam("value", "Changed")
+                                .build()
+                                .toUri();
+                restTemplate.postForEntity(updateUrl, null, TodoOperationResult.class);
+                ResponseEntity<String> changed = getIfNoneMatch(baseUrl + "/allbydate", etag);
+
+                // Assert
+                assertThat(etag).startsWith("\"");
+                assertThat(allEtag).startsWith("\"");
+                assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+                assertThat(unchanged.getBody()).isNull();
+                assertThat(unchangedAll.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+                assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+                assertThat(changed.getBody()).contains("Changed");
+        }
+
+        @Test
+        @Order(23)
+        @DisplayName("GET /todo/scratchpad - should answer 304 until the scratchpad is saved")
+        void testConditionalGetOnScratchpad() {
+                // Arrange
+                String scratchpadUrl = baseUrl + "/scratchpad";
+                String etag = Objects.requireNonNull(
+                                restTemplate.getForEntity(scratchpadUrl, String.class).getHeaders().getETag());
+
+                // Act
+                ResponseEntity<String> unchanged = getIfNoneMatch(scratchpadUrl, etag);
+                restTemplate.postForEntity(scratchpadUrl, "new notes", String.class);
+                ResponseEntity<String> changed = getIfNoneMatch(scratchpadUrl, etag);
+
+                // Assert
+                assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+                assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(changed.getBody()).contains("new notes");
+        }
+
+        @Test
+        @Order(24)
+        @DisplayName("GET /todo/changes?since - should return tasks changed and deleted after the version")
+        void testChangesSince() {
+                // Arrange
+                TodoItem kept = createTask("Kept", "Work");
+                TodoItem deleted = createTask("Deleted", "Work");
+                TodoChanges initial = restTemplate.getForObject(baseUrl + "/changes", TodoChanges.class);
+                assertThat(initial).isNotNull();
+                restTemplate.delete(baseUrl + "/delete/" + deleted.getId());
+
+                // Act
+                ResponseEntity<TodoChanges> response = restTemplate.getForEntity(
+                                baseUrl + "/changes?since=" + initial.getVersion(), TodoChanges.class);
+
+                // Assert
+                assertThat(initial.getItems()).extracting(TodoItem::getId).contains(kept.getId(), deleted.getId());
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody()).isNotNull();
+                assertThat(response.getBody().getItems()).isEmpty();
+                assertThat(response.getBody().getDeleted()).containsExactly(deleted.getId());
+                assertThat(response.getBody().getVersion()).isGreaterThan(initial.getVersion());
+        }
+
+        @Test
+        @Order(25)
+        @DisplayName("GET /todo/events - should push each committed change to an open stream")
+        void testEventStream() {
+                // Arrange
+                Flux<ServerSentEvent<String>> stream = WebClient.create(baseUrl).get()
+                                .uri("/events")
+                                .accept(MediaType.TEXT_EVENT_STREAM)
+                                .retrieve()
+                                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {
+                                });
+
+                // Act & Assert
+                StepVerifier.create(stream)
+                                .then(() -> {
+                                        awaitSubscriber();
+                                        TodoItem created = createTask("Pushed", "Work");
+                                        restTemplate.delete(baseUrl + "/delete/" + created.getId());
+                                })
+                                .assertNext(event -> {
+                                        assertThat(event.event()).isEqualTo("task");
+                                        assertThat(event.data()).contains("\"name\":\"Pushed\"");
+                                })
+                                .assertNext(event -> assertThat(event.event()).isEqualTo("task-deleted"))
+                                .thenCancel()
+                                .verify(Duration.ofSeconds(10));
+        }
+
+        @Test
+        @Order(26)
+        @DisplayName("POST /todo/scratchpad/patch - should apply an edit made against the current version")
+        void testPatchScratchpad() {
+                // Arrange
+                String scratchpadUrl = baseUrl + "/scratchpad";
+                Scratchpad saved = restTemplate.postForObject(scratchpadUrl, "hello", Scratchpad.class);
+                assertThat(saved).isNotNull();
+
+                // Act
+                ScratchpadPatchResult result = restTemplate.postForObject(scratchpadUrl + "/patch",
+                                new ScratchpadEdit(saved.getVersion(), 5, 0, " world"), ScratchpadPatchResult.class);
+                ScratchpadPatchResult stale = restTemplate.postForObject(scratchpadUrl + "/patch",
+                                new ScratchpadEdit(saved.getVersion(), 0, 0, "x"), ScratchpadPatchResult.class);
+
+                // Assert
+                assertThat(result).isNotNull();
+                assertThat(result.getStatus()).isEqualTo("Applied");
+                assertThat(stale).isNotNull();
+                assertThat(stale.getStatus()).isEqualTo("Error: Version conflict");
+                Scratchpad current = restTemplate.getForObject(scratchpadUrl, Scratchpad.class);
+                assertThat(current).isNotNull();
+                assertThat(current.getContent()).isEqualTo("hello world");
+                assertThat(current.getVersion()).isEqualTo(result.getVersion());
+        }
+
+        @Test
+        @Order(26)
+        @DisplayName("POST /todo/scratchpad/patch - should reject an edit without a baseVersion")
+        void testPatchScratchpadWithoutBaseVersion() {
+                // Arrange
+                String scratchpadUrl = baseUrl + "/scratchpad";
+                Scratchpad saved = restTemplate.postForObject(scratchpadUrl, "hello", Scratchpad.class);
+                assertThat(saved).isNotNull();
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+
+                // Act
+                ResponseEntity<ScratchpadPatchResult> response = restTemplate.postForEntity(scratchpadUrl + "/patch",
+                                new HttpEntity<>("{\"position\":0,\"deleteCount\":0,\"text\":\"x\"}", headers),
+                                ScratchpadPatchResult.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                ScratchpadPatchResult result = response.getBody();
+                assertThat(result).isNotNull();
+                assertThat(result.getStatus()).isEqualTo("Error: Missing baseVersion");
+                assertThat(result.getVersion()).isEqualTo(saved.getVersion());
+                Scratchpad current = restTemplate.getForObject(scratchpadUrl, Scratchpad.class);
+                assertThat(current).isNotNull();
+                assertThat(current.getContent()).isEqualTo("hello");
+        }
+
+        @Test
+        @Order(27)
+        @DisplayName("GET /todo/search - should return tasks matching every word")
+        void testSearch() {
+                // Arrange
+                TodoItem match = createTask("Quarterly report", "Work");
+                createTask("Quarterly taxes", "Home");
+
+                // Act
+                ResponseEntity<List<TodoItem>> response = restTemplate.exchange(
+                                baseUrl + "/search?q=quart work&limit=5", HttpMethod.GET, null, TODO_ITEM_LIST_TYPE);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody()).extracting(TodoItem::getId).containsExactly(match.getId());
+        }
+
+        @Test
+        @Order(28)
+        @DisplayName("GET /todo/stats - should count tasks per category and follow updates")
+        void testStats() {
+                // Arrange
+                TodoItem done = createTask("Report", "Work");
+                createTask("Review", "Work");
+                TodoItem chores = createTask("Laundry", "Home");
+                restTemplate.postForObject(baseUrl + "/update?id=" + done.getId() + "&field=complete&value=true",
+                                null, TodoOperationResult.class);
+                restTemplate.postForObject(baseUrl + "/update?id=" + done.getId() + "&field=timeTaken&value=90",
+                                null, TodoOperationResult.class);
+                restTemplate.delete(baseUrl + "/delete/" + chores.getId());
+                String today = LocalDate.now().toString();
+
+                // Act
+                TodoStats stats = restTemplate.getForObject(baseUrl + "/stats?from=" + today + "&to=" + today,
+                                TodoStats.class);
+                TodoStats tomorrow = restTemplate.getForObject(
+                                baseUrl + "/stats?from=" + LocalDate.now().plusDays(1), TodoStats.class);
+                Boolean consistent = restTemplate.postForObject(baseUrl + "/stats/rebuild", null, Boolean.class);
+
+                // Assert
+                assertThat(stats).isNotNull();
+                assertThat(stats.getCategories()).extracting("category").containsExactly("Work");
+                assertThat(stats.getTotal().getTasks()).isEqualTo(2);
+                assertThat(stats.getTotal().getComplete()).isEqualTo(1);
+                assertThat(stats.getTotal().getTimeTaken()).isEqualTo(90);
+                assertThat(stats.getTotal().getCompletionRate()).isEqualTo(0.5);
+                assertThat(tomorrow).isNotNull();
+                assertThat(tomorrow.getTotal().getTasks()).isZero();
+                assertThat(consistent).isTrue();
+        }
+
+        @Test
+        @Order(29)
+        @DisplayName("GET /todo/stats/time - should return weekly time spent on completed tasks")
+        void testTimeSeries() {
+                // Arrange
+                TodoItem done = createTask("Report", "Work");
+                createTask("Review", "Work");
+                restTemplate.postForObject(baseUrl + "/update?id=" + done.getId() + "&field=timeTaken&value=40",
+                                null, TodoOperationResult.class);
+                restTemplate.postForObject(baseUrl + "/update?id=" + done.getId() + "&field=complete&value=true",
+                                null, TodoOperationResult.class);
+
+                // Act
+                TimeSeries series = restTemplate.getForObject(baseUrl + "/stats/time?period=WEEK", TimeSeries.class);
+
+                // Assert
+                assertThat(series).isNotNull();
+                assertThat(series.getTo()).isEqualTo(LocalDate.now());
+                assertThat(series.getPoints()).singleElement().satisfies(point -> {
+                        assertThat(point.getDate()).isEqualTo(
+                                        LocalDate.now().with(java.time.temporal.TemporalAdjusters
+                                                        .previousOrSame(java.time.DayOfWeek.MONDAY)));
+                        assertThat(point.getCategory()).isEqualTo("Work");
+                        assertThat(point.getCompleted()).isEqualTo(1);
+                        assertThat(point.getTimeTaken()).isEqualTo(40);
+                });
+        }
+
+        @Test
+        @Order(30)
+        @DisplayName("GET /todo/history - should return archived tasks in the date range")
+        void testHistory() {
+                // Arrange
+                archive.deleteAll();
+                LocalDate day = LocalDate.of(2020, 6, 1);
+                TodoItem old = new TodoItem(day, 1, "Work", "Archived report");
+                old.setId(900_001L);
+                old.setComplete(true);
+                TodoItem outside = new TodoItem(day.plusMonths(1), 1, "Work", "Outside range");
+                outside.setId(900_002L);
+                archive.saveAll(List.of(new ArchivedTodoItem(old, java.time.LocalDateTime.now()),
+                                new ArchivedTodoItem(outside, java.time.LocalDateTime.now())));
+
+                // Act
+                ResponseEntity<List<TodoItem>> response = restTemplate.exchange(
+                                baseUrl + "/history?from=2020-06-01&to=2020-06-30", HttpMethod.GET, null,
+                                TODO_ITEM_LIST_TYPE);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody()).singleElement().satisfies(item -> {
+                        assertThat(item.getId()).isEqualTo(900_001L);
+                        assertThat(item.getName()).isEqualTo("Archived report");
+                        assertThat(item.isComplete()).isTrue();
+                });
+        }
+
+        @Test
+        @Order(31)
+        @DisplayName("POST /todo/import - should add every task in a CSV body")
+        void testImportCsv() {
+                // Arrange
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.parseMediaType("text/csv"));
+                String csv = "name,category,taskDate\nImported 1,Work,2024-05-01\nImported 2,Home,2024-05-02\n";
+
+                // Act
+                ResponseEntity<ImportResult> response = restTemplate.postForEntity(baseUrl + "/import",
+                                new HttpEntity<>(csv, headers), ImportResult.class);
+
+                // Assert
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody()).isNotNull();
+                assertThat(response.getBody().getImported()).isEqualTo(2);
+                assertThat(restTemplate.exchange(baseUrl + "/all", HttpMethod.GET, null, TODO_ITEM_LIST_TYPE).getBody())
+                                .extracting(TodoItem::getName).containsExactlyInAnyOrder("Imported 1", "Imported 2");
+        }
+
+        @Test
+        @Order(32)
+        @DisplayName("POST /todo/stats/rebuild - should invalidate cached stats when the counters had drifted")
+        void testRebuildStatsChangesEtag() {
+                // Arrange - a row written behind TodoService's back leaves the counters short
+                createTask("Counted", "Work");
+                ResponseEntity<TodoStats> first = restTemplate.getForEntity(baseUrl + "/stats", TodoStats.class);
+                String etag = Objects.requireNonNull(first.getHeaders().getETag());
+                repository.save(new TodoItem(LocalDate.now(), 2, "Work", "Uncounted"));
+
+                // Act
+                Boolean consistent = restTemplate.postForObject(baseUrl + "/stats/rebuild", null, Boolean.class);
+                ResponseEntity<String> after = getIfNoneMatch(baseUrl + "/stats", etag);
+
+                // Assert
+                assertThat(consistent).isFalse();
+                assertThat(after.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(after.getHeaders().getETag()).isNotEqualTo(etag);
+                assertThat(Objects.requireNonNull(restTemplate.getForObject(baseUrl + "/stats", TodoStats.class))
+                                .getTotal().getTasks())
+                                .isEqualTo(Objects.requireNonNull(first.getBody()).getTotal().getTasks() + 1);
+        }
+
+        // The stream subscribes on the server asynchronously; changes before that are not replayed
+        private void awaitSubscriber() {
+                long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+                while (meterRegistry.get("todo.events.subscribers").gauge().value() < 1
+                                && System.nanoTime() < deadline) {
+                        Thread.onSpinWait();
+                }
+        }
+
+        private ResponseEntity<String> getIfNoneMatch(String url, String etag) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setIfNoneMatch(etag);
+                return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        }
+
         /**
          * Helper method to create a task for testing
          */
@@ -0,0 +1,37 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.ImportResult;
+import com.myapp.todo.dto.TodoStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void testRegistersReflectiveTypes() throws Exception {
+        // Act
+        new TodoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(TodoItem.class, "getTaskDate").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Scratchpad.class, "getContent").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(TodoStats.class, "getCategories").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(ImportResult.class, "getErrors").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(TodoItem.class.getDeclaredField("changeVersion"))
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ArchivedTodoItem.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(LocalDateStringConverter.class.getDeclaredConstructor()).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(TodoItemIdGenerator.class.getDeclaredConstructor()).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(GroupedTodoItemsSerializer.class.getDeclaredConstructor()).test(hints));
+    }
+}
@@ -0,0 +1,140 @@
+package com.myapp.todo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Task search against a real SQLite file, where it runs on FTS5. The index
+ * comes from the migrations, so Flyway builds the schema here.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoSearchIndexTest {
+
+        @TempDir
+        static Path databaseDir;
+
+        @DynamicPropertySource
+        static void sqliteProperties(DynamicPropertyRegistry registry) {
+                registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + databaseDir.resolve("search-test.db"));
+                registry.add("spring.datasource.driverClassName", () -> "org.sqlite.JDBC");
+                registry.add("spring.jpa.database-platform", () -> "org.hibernate.community.dialect.SQLiteDialect");
+                registry.add("spring.flyway.enabled", () -> "true");
+                registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        }
+
+        @Autowired
+        private TodoService todoService;
+
+        @Autowired
+        private TodoItemRepository repository;
+
+        @Autowired
+        private TodoReadModel readModel;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @BeforeEach
+        void setUp() {
+                repository.deleteAll();
+                readModel.reload();
+        }
+
+        @Test
+        @DisplayName("the index is an FTS5 table on SQLite")
+        void testUsesFts5() {
+                assertThat(jdbcTemplate.queryForObject(
+                                "select sql from sqlite_master where name = 'todo_item_fts'", String.class))
+                                .containsIgnoringCase("fts5");
+        }
+
+        @Test
+        @DisplayName("search - matches word prefixes across name and category, best match first")
+        void testPrefixSearchIsRanked() {
+                // Arrange
+                TodoItem inName = add("Work", "Workout plan");
+                TodoItem inCategory = add("Work", "Call the bank");
+                add("Home", "Water plants");
+
+                // Act & Assert
+                assertThat(todoService.search("wor", 10)).extracting(TodoItem::getId)
+                                .containsExactly(inName.getId(), inCategory.getId());
+                assertThat(todoService.search("pla wor", 10)).extracting(TodoItem::getId)
+                                .containsExactly(inName.getId());
+                assertThat(todoService.search("wor", 1)).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("search - follows renames and deletes")
+        void testIndexFollowsWrites() {
+                // Arrange
+                TodoItem item = add("Errands", "Buy milk");
+                TodoItem other = add("Errands", "Buy bread");
+
+                // Act
+                todoService.updateTaskField(item.getId(), "taskName", "Buy coffee");
+                todoService.deleteTask(other.getId());
+
+                // Assert
+                assertThat(todoService.search("milk", 10)).isEmpty();
+                assertThat(todoService.search("coffee", 10)).extracting(TodoItem::getId)
+                                .containsExactly(item.getId());
+                assertThat(todoService.search("bread", 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("search - FTS5 syntax characters in a query are treated as separators")
+        void testQuerySyntaxIsIgnored() {
+                // Arrange
+                TodoItem item = add("Work", "Review \"Q3\" report");
+
+                // Act & Assert
+                assertThat(todoService.search("\"Q3\" (rep*", 10)).extracting(TodoItem::getId)
+                                .containsExactly(item.getId());
+                assertThat(todoService.search("*:-", 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("a restart validates the schema alongside the existing index tables")
+        void testRestartOnExistingDatabase() {
+                // Arrange
+                TodoItem item = add("Work", "Survives restart");
+
+                // Act
+                try (ConfigurableApplicationContext restarted = new SpringApplicationBuilder(TodoApplication.class)
+                                .profiles("test").run(
+                                                "--spring.main.web-application-type=none",
+                                                "--spring.main.banner-mode=off",
+                                                "--spring.datasource.url=jdbc:sqlite:"
+                                                                + databaseDir.resolve("search-test.db"),
+                                                "--spring.datasource.driverClassName=org.sqlite.JDBC",
+                                                "--spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+                                                "--spring.flyway.enabled=true",
+                                                "--spring.jpa.hibernate.ddl-auto=validate")) {
+                        // Assert
+                        assertThat(restarted.getBean(TodoService.class).search("survives", 10))
+                                        .extracting(TodoItem::getId).containsExactly(item.getId());
+                }
+        }
+
+        private TodoItem add(String category, String name) {
+                return todoService.addTask(category, name, LocalDate.of(2024, 3, 10), null, null, null, null)
+                                .getItem();
+        }
+}
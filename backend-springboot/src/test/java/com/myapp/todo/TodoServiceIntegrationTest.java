@@ -0,0 +1,257 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.TodoChanges;
+import com.myapp.todo.dto.TodoFieldUpdate;
+import com.myapp.todo.dto.TodoOperationResult;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Service-level tests against the embedded H2 database.
+ * Hibernate statistics are enabled so tests can assert how much work a call does.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class TodoServiceIntegrationTest {
+
+        @Autowired
+        private TodoService todoService;
+
+        @Autowired
+        private TodoItemRepository repository;
+
+        @Autowired
+        private TodoReadModel readModel;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Statistics statistics;
+
+        @BeforeEach
+        void setUp() {
+                repository.deleteAll();
+                readModel.reload();
+                statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        }
+
+        @Test
+        @DisplayName("getGroupedByDate - reads load no entities however large the history grows")
+        void testGroupedByDateLoadsNoEntities() {
+                // Arrange - a handful of tasks from today on
+                LocalDate today = LocalDate.now();
+                List<TodoItem> current = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                        current.add(new TodoItem(today.plusDays(i), 1, "Work", "Current " + i));
+                }
+                repository.saveAll(current);
+                readModel.reload();
+
+                long loadsWithSmallHistory = countDatabaseWork();
+
+                // Act - add years of history, then read the same window again
+                List<TodoItem> history = new ArrayList<>();
+                for (int i = 0; i < 1000; i++) {
+                        history.add(new TodoItem(today.minusYears(1).minusDays(i), 1, "Old", "History " + i));
+                }
+                repository.saveAll(history);
+                readModel.reload();
+
+                long loadsWithLargeHistory = countDatabaseWork();
+
+                // Assert
+                assertThat(loadsWithSmallHistory).isZero();
+                assertThat(loadsWithLargeHistory).isZero();
+        }
+
+        @Test
+        @DisplayName("getGroupedByDate - explicit window groups by date in date and dayOrder order")
+        void testGroupedByDateExplicitWindow() {
+                // Arrange
+                LocalDate day = LocalDate.of(2024, 3, 10);
+                repository.save(new TodoItem(day.plusDays(1), 1, "Work", "Next day"));
+                repository.save(new TodoItem(day, 2, "Work", "Second"));
+                repository.save(new TodoItem(day, 1, "Work", "First"));
+                repository.save(new TodoItem(day.plusDays(5), 1, "Work", "Outside"));
+                readModel.reload();
+
+                // Act
+                GroupedTodoItems result = todoService.getGroupedByDate(day, day.plusDays(1));
+
+                // Assert
+                assertThat(result.getItemsByDate()).containsOnlyKeys("2024-03-10", "2024-03-11");
+                assertThat(result.getItemsByDate().get("2024-03-10"))
+                                .extracting(TodoItem::getName)
+                                .containsExactly("First", "Second");
+        }
+
+        @Test
+        @DisplayName("addTask/updateTaskField/deleteTask - writes are visible to reads without reloading")
+        void testWritesAreVisibleInReadModel() {
+                // Arrange
+                LocalDate day = LocalDate.of(2024, 3, 10);
+                TodoItem first = todoService.addTask("Work", "First", day, null, null, null, null).getItem();
+                TodoItem second = todoService.addTask("Work", "Second", day, null, null, null, null).getItem();
+
+                // Act
+                todoService.updateTaskField(first.getId(), "taskDate", day.plusDays(1).toString());
+                todoService.updateTaskField(second.getId(), "taskName", "Renamed");
+                statistics.clear();
+                GroupedTodoItems afterUpdate = todoService.getGroupedByDate(day, day.plusDays(1));
+                long loadsForRead = statistics.getEntityLoadCount() + statistics.getQueryExecutionCount();
+
+                todoService.deleteTask(second.getId());
+                GroupedTodoItems afterDelete = todoService.getGroupedByDate(day, day.plusDays(1));
+
+                // Assert
+                assertThat(loadsForRead).isZero();
+                assertThat(afterUpdate.getItemsByDate().get("2024-03-10"))
+                                .extracting(TodoItem::getName)
+                                .containsExactly("Renamed");
+                assertThat(afterUpdate.getItemsByDate().get("2024-03-11"))
+                                .extracting(TodoItem::getName)
+                                .containsExactly("First");
+                assertThat(afterDelete.getItemsByDate()).containsOnlyKeys("2024-03-11");
+                assertThat(todoService.getAll()).extracting(TodoItem::getId).containsExactly(first.getId());
+        }
+
+        @Test
+        @DisplayName("updateTaskFields - one transaction and one load per task for many updates")
+        void testBatchUpdateLoadsEachTaskOnce() {
+                // Arrange
+                LocalDate day = LocalDate.of(2024, 3, 10);
+                List<TodoItem> tasks = new ArrayList<>();
+                for (int i = 0; i < 3; i++) {
+                        tasks.add(todoService.addTask("Work", "Task " + i, day, null, null, null, null).getItem());
+                }
+                List<TodoFieldUpdate> updates = new ArrayList<>();
+                for (int i = 0; i < tasks.size(); i++) {
+                        Long id = tasks.get(i).getId();
+                        updates.add(new TodoFieldUpdate(id, "dayOrder", String.valueOf(tasks.size() - i)));
+                        updates.add(new TodoFieldUpdate(id, "complete", "true"));
+                }
+                updates.add(new TodoFieldUpdate(tasks.get(0).getId(), "priority", "not a number"));
+                updates.add(new TodoFieldUpdate(99999L, "taskName", "Missing"));
+
+                // Act
+                statistics.clear();
+                List<TodoOperationResult> results = todoService.updateTaskFields(updates);
+
+                // Assert
+                assertThat(statistics.getTransactionCount()).isEqualTo(1);
+                assertThat(statistics.getEntityLoadCount()).isEqualTo(3);
+                assertThat(statistics.getEntityUpdateCount()).isEqualTo(3);
+                assertThat(results).hasSize(updates.size());
+                assertThat(results.subList(0, 6)).extracting(TodoOperationResult::getStatus).containsOnly("Updated");
+                assertThat(results.get(6).getStatus()).startsWith("Error:");
+                assertThat(results.get(7).getStatus()).isEqualTo("Error: Item not found");
+                assertThat(todoService.getGroupedByDate(day, day).getItemsByDate().get("2024-03-10"))
+                                .extracting(TodoItem::getName)
+                                .containsExactly("Task 2", "Task 1", "Task 0");
+                assertThat(repository.findAll()).allMatch(TodoItem::isComplete);
+        }
+
+        @Test
+        @DisplayName("moveTask - moving between spaced tasks writes only the moved row")
+        void testMoveTaskWritesOneRow() {
+                // Arrange
+                LocalDate day = LocalDate.of(2024, 3, 10);
+                List<TodoItem> tasks = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                        tasks.add(todoService.addTask("Work", "Task " + i, day, null, null, null, null).getItem());
+                }
+
+                // Act - drag the last task to second place
+                statistics.clear();
+                TodoOperationResult result = todoService.moveTask(tasks.get(4).getId(), day, 1);
+
+                // Assert
+                assertThat(result.getStatus()).isEqualTo("Updated");
+                assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+                assertThat(todoService.getGroupedByDate(day, day).getItemsByDate().get("2024-03-10"))
+                                .extracting(TodoItem::getName)
+                                .containsExactly("Task 0", "Task 4", "Task 1", "Task 2", "Task 3");
+        }
+
+        @Test
+        @DisplayName("moveTask - renumbers the day only once the gap is used up")
+        void testMoveTaskRebalancesWhenGapRunsOut() {
+                // Arrange - densely ordered rows, as older data has
+                LocalDate day = LocalDate.of(2024, 3, 10);
+                TodoItem first = repository.save(new TodoItem(day, 1, "Work", "First"));
+                repository.save(new TodoItem(day, 2, "Work", "Second"));
+                TodoItem third = repository.save(new TodoItem(day, 3, "Work", "Third"));
+                readModel.reload();
+
+                // Act
+                statistics.clear();
+                todoService.moveTask(third.getId(), day, 1);
+                long rebalanceUpdates = statistics.getEntityUpdateCount();
+                statistics.clear();
+                todoService.moveTask(first.getId(), day, 2);
+                long spacedUpdates = statistics.getEntityUpdateCount();
+
+                // Assert
+                assertThat(rebalanceUpdates).isEqualTo(3);
+                assertThat(spacedUpdates).isEqualTo(1);
+                assertThat(todoService.getGroupedByDate(day, day).getItemsByDate().get("2024-03-10"))
+                                .extracting(TodoItem::getName)
+                                .containsExactly("Third", "Second", "First");
+                assertThat(repository.findByTaskDate(day))
+                                .extracting(TodoItem::getDayOrder)
+                                .doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("getChangesSince - returns only writes and deletes after the client's version, in pages")
+        void testChangesSinceVersion() {
+                // Arrange
+                LocalDate day = LocalDate.of(2024, 3, 10);
+                TodoItem kept = todoService.addTask("Work", "Kept", day, null, null, null, null).getItem();
+                TodoItem removed = todoService.addTask("Work", "Removed", day, null, null, null, null).getItem();
+                long synced = todoService.getChangesSince(0, 500).getVersion();
+
+                // Act
+                todoService.updateTaskField(kept.getId(), "complete", "true");
+                todoService.deleteTask(removed.getId());
+                TodoItem added = todoService.addTask("Home", "Added", day, null, null, null, null).getItem();
+                TodoChanges delta = todoService.getChangesSince(synced, 500);
+                TodoChanges firstPage = todoService.getChangesSince(synced, 2);
+                TodoChanges secondPage = todoService.getChangesSince(firstPage.getVersion(), 2);
+                TodoChanges upToDate = todoService.getChangesSince(delta.getVersion(), 500);
+
+                // Assert
+                assertThat(delta.getItems()).extracting(TodoItem::getId).containsExactly(kept.getId(), added.getId());
+                assertThat(delta.getItems().get(0).isComplete()).isTrue();
+                assertThat(delta.getDeleted()).containsExactly(removed.getId());
+                assertThat(delta.getVersion()).isGreaterThan(synced);
+                assertThat(delta.isHasMore()).isFalse();
+                assertThat(firstPage.getItems()).extracting(TodoItem::getId).containsExactly(kept.getId());
+                assertThat(firstPage.getDeleted()).containsExactly(removed.getId());
+                assertThat(firstPage.isHasMore()).isTrue();
+                assertThat(secondPage.getItems()).extracting(TodoItem::getId).containsExactly(added.getId());
+                assertThat(secondPage.getVersion()).isEqualTo(delta.getVersion());
+                assertThat(upToDate.getItems()).isEmpty();
+                assertThat(upToDate.getDeleted()).isEmpty();
+                assertThat(upToDate.getVersion()).isEqualTo(delta.getVersion());
+        }
+
+        private long countDatabaseWork() {
+                statistics.clear();
+                todoService.getGroupedByDate();
+                return statistics.getEntityLoadCount() + statistics.getQueryExecutionCount();
+        }
+}
@@ -1,18 +1,28 @@
 package com.myapp.todo;
 
+import com.myapp.todo.dto.TodoFieldUpdate;
 import com.myapp.todo.dto.TodoOperationResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import reactor.test.StepVerifier;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,6 +34,42 @@ class TodoServiceTest {
     @Mock
     private TodoItemRepository repository;
 
+    @Mock
+    private TodoReadModel readModel;
+
+    @Mock
+    private SqliteWriter writer;
+
+    @Mock
+    private DayOrderAllocator dayOrders;
+
+    @Mock
+    private TodoItemFactory tasks;
+
+    @Mock
+    private RecurrenceEngine recurrences;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private DataVersion dataVersion;
+
+    @Mock
+    private TodoTombstoneRepository tombstones;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ChangeVersions changeVersions;
+
+    @Mock
+    private ChangeEventStream events;
+
+    @Mock
+    private TodoStatistics statistics;
+
     @InjectMocks
     private TodoService todoService;
 
@@ -33,17 +79,29 @@ class TodoServiceTest {
     void setUp() {
         sampleItem = new TodoItem(LocalDate.now(), 1, "Work", "Test Task");
         sampleItem.setId(1L);
+
+        // Run queued writes and their after-commit actions inline on the test thread
+        lenient().when(writer.execute(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(writer).afterCommit(any());
     }
 
     @Test
     void testGetGroupedByDate() {
         // Arrange
-        TodoItem item1 = new TodoItem(LocalDate.of(2023, 10, 27), 1, "Work", "Task 1");
-        TodoItem item2 = new TodoItem(LocalDate.of(2023, 10, 26), 1, "Personal", "Task 2");
-        when(repository.findAll()).thenReturn(Arrays.asList(item1, item2));
+        LocalDate from = LocalDate.of(2023, 10, 1);
+        LocalDate to = LocalDate.of(2023, 10, 31);
+        TodoItem item1 = new TodoItem(LocalDate.of(2023, 10, 26), 1, "Personal", "Task 2");
+        TodoItem item2 = new TodoItem(LocalDate.of(2023, 10, 27), 1, "Work", "Task 1");
+        NavigableMap<LocalDate, List<TodoItem>> window = new TreeMap<>();
+        window.put(item1.getTaskDate(), List.of(item1));
+        window.put(item2.getTaskDate(), List.of(item2));
+        when(readModel.window(from, to)).thenReturn(window);
 
         // Act
-        GroupedTodoItems result = todoService.getGroupedByDate();
+        GroupedTodoItems result = todoService.getGroupedByDate(from, to);
 
         // Assert
         assertNotNull(result);
@@ -59,10 +117,53 @@ class TodoServiceTest {
         assertEquals("2023-10-27", keys.get(1));
     }
 
+    @Test
+    void testGetGroupedByDate_DefaultWindowIsOpen() {
+        // Arrange
+        when(readModel.window(null, null)).thenReturn(new TreeMap<>());
+
+        // Act
+        todoService.getGroupedByDate();
+
+        // Assert - every stored day is returned, served without the database
+        verify(readModel).window(null, null);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testGetGroupedByDate_ExpandAddsVirtualOccurrences() {
+        // Arrange
+        LocalDate day = LocalDate.of(2023, 10, 1);
+        TodoItem daily = new TodoItem(day, 1, "Home", "Water plants");
+        daily.setId(2L);
+        daily.setRepeatType(TodoItem.RepeatPattern.EVERY_X_DAYS);
+        daily.setRepeatDuration(1);
+        TodoItem nextRow = new TodoItem(day.plusDays(2), 1, "Home", "Water plants");
+        nextRow.setId(3L);
+        NavigableMap<LocalDate, List<TodoItem>> window = new TreeMap<>();
+        window.put(day, List.of(daily));
+        window.put(day.plusDays(2), List.of(nextRow));
+        when(readModel.window(day, day.plusDays(2))).thenReturn(window);
+        when(readModel.recurring()).thenReturn(List.of(daily));
+        when(recurrences.occurrences(daily, day, day.plusDays(2))).thenReturn(List.of(day.plusDays(1), day.plusDays(2)));
+
+        // Act
+        GroupedTodoItems result = todoService.getGroupedByDate(day, day.plusDays(2), true);
+
+        // Assert - the stored row on the 3rd stands in for that day's occurrence
+        List<TodoItem> projected = result.getItemsByDate().get("2023-10-02");
+        assertEquals(1, projected.size());
+        assertTrue(projected.get(0).isVirtual());
+        assertEquals(2L, projected.get(0).getId());
+        assertEquals(List.of(nextRow), result.getItemsByDate().get("2023-10-03"));
+        assertFalse(daily.isVirtual());
+    }
+
     @Test
     void testAddTask() {
         // Arrange
-        when(repository.findByTaskDate(any(LocalDate.class))).thenReturn(new ArrayList<>());
+        when(tasks.newTask(any(LocalDate.class), eq("Work"), eq("New Task"), eq(TodoItem.RepeatPattern.NONE), eq(0),
+                eq(1), eq(false))).thenAnswer(invocation -> new TodoItem(invocation.getArgument(0), 1, "Work", "New Task"));
         when(repository.save(any(TodoItem.class))).thenAnswer(invocation -> {
             TodoItem item = invocation.getArgument(0);
             item.setId(1L);
@@ -78,8 +179,13 @@ class TodoServiceTest {
         assertEquals("Added", result.getStatus());
         assertNotNull(result.getItem());
         assertEquals("New Task", result.getItem().getName());
-        assertEquals(1, result.getItem().getDayOrder()); // Should be 1 as list was empty
+        assertEquals(1, result.getItem().getDayOrder()); // Should be 1 as the day was empty
         verify(repository).save(any(TodoItem.class));
+        verify(repository, never()).findByTaskDate(any(LocalDate.class));
+        verify(readModel).put(result.getItem());
+        verify(statistics).put(result.getItem());
+        verify(dataVersion).bump();
+        verify(events).taskSaved(result.getItem());
     }
 
     @Test
@@ -123,6 +229,7 @@ class TodoServiceTest {
         assertTrue(result.getStatus().contains("Error"));
         assertEquals("Error: Invalid field", result.getStatus());
         verify(repository, never()).save(any(TodoItem.class));
+        verify(readModel, never()).put(any(TodoItem.class));
     }
 
     @Test
@@ -137,6 +244,148 @@ class TodoServiceTest {
         assertEquals("Error: Item not found", result.getStatus());
     }
 
+    @Test
+    void testUpdateTaskField_RecordsTimerPerFieldAndOutcome() {
+        // Arrange
+        when(repository.findById(1L)).thenReturn(Optional.of(sampleItem));
+        when(repository.save(any(TodoItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        todoService.updateTaskField(1L, "taskName", "Renamed");
+        todoService.updateTaskField(1L, "priority", "high");
+        todoService.updateTaskField(1L, "no such field", "value");
+
+        // Assert - unknown field names are folded into one series
+        assertEquals(1, meterRegistry.get("todo.update").tags("field", "taskName", "outcome", "updated").timer().count());
+        assertEquals(1, meterRegistry.get("todo.update").tags("field", "priority", "outcome", "invalid_value").timer().count());
+        assertEquals(1, meterRegistry.get("todo.update").tags("field", "other", "outcome", "invalid_field").timer().count());
+    }
+
+    @Test
+    void testUpdateTaskField_RecordsTimerWhenWriteFails() {
+        // Arrange
+        doThrow(new IllegalStateException("SQLite writer is shut down")).when(writer).execute(any());
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> todoService.updateTaskField(1L, "taskName", "Renamed"));
+
+        // Assert
+        assertEquals(1, meterRegistry.get("todo.update").tags("field", "taskName", "outcome", "error").timer().count());
+    }
+
+    @Test
+    void testUpdateTaskFields_Batch() {
+        // Arrange
+        TodoItem other = new TodoItem(LocalDate.now(), 2, "Work", "Other Task");
+        other.setId(2L);
+        when(repository.findAllById(any())).thenReturn(List.of(sampleItem, other));
+
+        // Act
+        List<TodoOperationResult> results = todoService.updateTaskFields(List.of(
+                new TodoFieldUpdate(1L, "taskName", "Renamed"),
+                new TodoFieldUpdate(2L, "priority", "3"),
+                new TodoFieldUpdate(1L, "dayOrder", "abc"),
+                new TodoFieldUpdate(3L, "taskName", "Missing")));
+
+        // Assert
+        assertEquals("Updated", results.get(0).getStatus());
+        assertEquals("Updated", results.get(1).getStatus());
+        assertTrue(results.get(2).getStatus().startsWith("Error"));
+        assertEquals("Error: Item not found", results.get(3).getStatus());
+        assertEquals("Renamed", sampleItem.getName());
+        assertEquals(3, other.getPriority());
+        verify(repository, times(1)).findAllById(any());
+        verify(repository, never()).findById(anyLong());
+        verify(readModel).put(sampleItem);
+        verify(readModel).put(other);
+        assertEquals(1.0, meterRegistry.get("todo.update.batch.fields")
+                .tags("field", "taskName", "outcome", "not_found").counter().count());
+    }
+
+    @Test
+    void testExportAll_PagesByKeyset() {
+        // Arrange - one full page followed by a short one
+        List<TodoItem> firstPage = new ArrayList<>();
+        for (long id = 1; id <= TodoService.EXPORT_PAGE_SIZE; id++) {
+            TodoItem item = new TodoItem(LocalDate.now(), 1, "Work", "Task " + id);
+            item.setId(id);
+            firstPage.add(item);
+        }
+        long lastOfFirstPage = TodoService.EXPORT_PAGE_SIZE;
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(TodoService.EXPORT_PAGE_SIZE)))
+                .thenReturn(firstPage);
+        when(repository.findByIdGreaterThanOrderByIdAsc(lastOfFirstPage, Limit.of(TodoService.EXPORT_PAGE_SIZE)))
+                .thenReturn(List.of(sampleItem));
+        when(repository.findByIdGreaterThanOrderByIdAsc(sampleItem.getId(), Limit.of(TodoService.EXPORT_PAGE_SIZE)))
+                .thenReturn(List.of());
+
+        // Act & Assert
+        StepVerifier.create(todoService.exportAll())
+                .expectNextCount(TodoService.EXPORT_PAGE_SIZE)
+                .expectNext(sampleItem)
+                .verifyComplete();
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void testMoveTask_BetweenNeighboursWritesOnlyMovedTask() {
+        // Arrange
+        LocalDate day = sampleItem.getTaskDate();
+        TodoItem first = new TodoItem(day, 1024, "Work", "First");
+        first.setId(2L);
+        TodoItem second = new TodoItem(day, 2048, "Work", "Second");
+        second.setId(3L);
+        when(repository.findById(1L)).thenReturn(Optional.of(sampleItem));
+        when(repository.findByTaskDate(day)).thenReturn(List.of(second, sampleItem, first));
+
+        // Act
+        TodoOperationResult result = todoService.moveTask(1L, day, 1);
+
+        // Assert
+        assertEquals("Updated", result.getStatus());
+        assertEquals(1536, sampleItem.getDayOrder());
+        assertEquals(1024, first.getDayOrder());
+        assertEquals(2048, second.getDayOrder());
+        verify(readModel).put(sampleItem);
+        verify(readModel, times(1)).put(any(TodoItem.class));
+    }
+
+    @Test
+    void testMoveTask_NoGapRebalancesDay() {
+        // Arrange
+        LocalDate day = sampleItem.getTaskDate().plusDays(1);
+        TodoItem first = new TodoItem(day, 1, "Work", "First");
+        first.setId(2L);
+        TodoItem second = new TodoItem(day, 2, "Work", "Second");
+        second.setId(3L);
+        when(repository.findById(1L)).thenReturn(Optional.of(sampleItem));
+        when(repository.findByTaskDate(day)).thenReturn(List.of(first, second));
+
+        // Act
+        todoService.moveTask(1L, day, 1);
+
+        // Assert
+        assertEquals(day, sampleItem.getTaskDate());
+        assertEquals(DayOrderAllocator.GAP, first.getDayOrder());
+        assertEquals(2 * DayOrderAllocator.GAP, sampleItem.getDayOrder());
+        assertEquals(3 * DayOrderAllocator.GAP, second.getDayOrder());
+        verify(readModel, times(3)).put(any(TodoItem.class));
+        verify(dayOrders).observe(day, 3 * DayOrderAllocator.GAP);
+    }
+
+    @Test
+    void testMoveTask_NotFound() {
+        // Arrange
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act
+        TodoOperationResult result = todoService.moveTask(1L, LocalDate.now(), 0);
+
+        // Assert
+        assertEquals("Error: Item not found", result.getStatus());
+        verifyNoInteractions(readModel);
+    }
+
     @Test
     void testDeleteTask_Success() {
         // Arrange
@@ -148,6 +397,10 @@ class TodoServiceTest {
         // Assert
         assertFalse(result); // returns item.isComplete() which is false initially
         verify(repository).deleteById(1L);
+        verify(entityManager).persist(any(TodoTombstone.class));
+        verify(readModel).remove(1L);
+        verify(dataVersion).bump();
+        verify(events).taskDeleted(1L);
     }
 
     @Test
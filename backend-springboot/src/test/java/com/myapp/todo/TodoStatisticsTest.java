@@ -0,0 +1,166 @@
+package com.myapp.todo;
+
+import com.myapp.todo.dto.CategoryStats;
+import com.myapp.todo.dto.TimeSeries;
+import com.myapp.todo.dto.TimeSpent;
+import com.myapp.todo.dto.TodoStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoStatisticsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+    @Mock
+    private TodoItemRepository repository;
+
+    @Mock
+    private ArchivedTodoItemRepository archive;
+
+    @InjectMocks
+    private TodoStatistics statistics;
+
+    private static TodoItem item(long id, LocalDate date, String category, boolean complete, Long timeTaken) {
+        TodoItem item = new TodoItem(date, 1, category, "Task " + id);
+        item.setId(id);
+        item.setComplete(complete);
+        item.setTimeTaken(timeTaken);
+        return item;
+    }
+
+    @Test
+    void testCountsPerCategoryWithinRange() {
+        // Arrange
+        TodoItem inProgress = item(3L, DAY.plusDays(1), "Home", false, null);
+        inProgress.setInProgress(true);
+        when(repository.findAll()).thenReturn(List.of(
+                item(1L, DAY, "Work", true, 30L),
+                item(2L, DAY, "Work", false, 15L),
+                inProgress,
+                item(4L, DAY.plusDays(5), "Work", true, 60L),
+                item(5L, null, "Work", false, null)));
+
+        // Act
+        TodoStats range = statistics.stats(DAY, DAY.plusDays(1));
+        TodoStats allTime = statistics.stats(null, null);
+
+        // Assert
+        assertEquals(List.of("Home", "Work"), range.getCategories().stream().map(CategoryStats::getCategory).toList());
+        CategoryStats work = range.getCategories().get(1);
+        assertEquals(2, work.getTasks());
+        assertEquals(1, work.getComplete());
+        assertEquals(45, work.getTimeTaken());
+        assertEquals(0.5, work.getCompletionRate());
+        assertEquals(1, range.getCategories().get(0).getInProgress());
+        assertEquals(3, range.getTotal().getTasks());
+        assertEquals(5, allTime.getTotal().getTasks()); // the undated task counts only here
+        assertEquals(105, allTime.getTotal().getTimeTaken());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void testMutationsMoveTasksBetweenCounters() {
+        // Arrange
+        when(repository.findAll()).thenReturn(List.of(item(1L, DAY, "Work", false, null)));
+        statistics.stats(null, null);
+
+        // Act - complete and recategorize the task, add one twice, then delete it
+        statistics.put(item(1L, DAY.plusDays(1), "Home", true, 20L));
+        statistics.put(item(2L, DAY, "Work", false, null));
+        statistics.put(item(2L, DAY, "Work", false, null));
+        statistics.remove(2L);
+        TodoStats stats = statistics.stats(null, null);
+
+        // Assert
+        assertEquals(1, stats.getCategories().size());
+        CategoryStats home = stats.getCategories().get(0);
+        assertEquals("Home", home.getCategory());
+        assertEquals(1, home.getComplete());
+        assertEquals(20, home.getTimeTaken());
+        assertEquals(0, statistics.stats(DAY, DAY).getTotal().getTasks());
+    }
+
+    @Test
+    void testRebuildReportsDrift() {
+        // Arrange - the counters see one task, then a row appears behind their back
+        TodoItem first = item(1L, DAY, "Work", false, null);
+        when(repository.findAll()).thenReturn(List.of(first));
+        statistics.stats(null, null);
+        statistics.put(item(1L, DAY, "Work", true, null));
+        when(repository.findAll()).thenReturn(List.of(item(1L, DAY, "Work", true, null),
+                item(2L, DAY, "Home", false, null)));
+
+        // Act
+        boolean consistent = statistics.rebuild();
+        boolean consistentAgain = statistics.rebuild();
+
+        // Assert
+        assertFalse(consistent);
+        assertTrue(consistentAgain);
+        assertEquals(2, statistics.stats(DAY, DAY).getTotal().getTasks());
+    }
+
+    @Test
+    void testMutationsDuringCountDoNotWaitAndAreReplayed() {
+        // Arrange - while the table is being read, the writer commits two changes the
+        // read already missed; put runs on another thread and would time out on a held lock
+        when(repository.findAll()).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> {
+                statistics.put(item(1L, DAY, "Work", true, 30L));
+                statistics.put(item(2L, DAY, "Home", false, null));
+            }).get(5, TimeUnit.SECONDS);
+            return List.of(item(1L, DAY, "Work", false, null));
+        });
+
+        // Act
+        statistics.load();
+        TodoStats stats = statistics.stats(DAY, DAY);
+
+        // Assert
+        assertEquals(2, stats.getTotal().getTasks());
+        assertEquals(1, stats.getTotal().getComplete());
+        assertEquals(30, stats.getTotal().getTimeTaken());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void testTimeSpentPerDayAndWeek() {
+        // Arrange - DAY is a Wednesday; only completed tasks count toward time spent
+        LocalDate monday = LocalDate.of(2024, 4, 29);
+        when(repository.findAll()).thenReturn(List.of(
+                item(1L, DAY, "Work", true, 30L),
+                item(2L, DAY.plusDays(1), "Work", true, 45L),
+                item(3L, DAY.plusDays(1), "Work", false, 100L),
+                item(4L, DAY.plusDays(6), "Home", true, 20L)));
+        statistics.stats(null, null);
+
+        // Act - then complete task 3 after the rollups are loaded
+        statistics.put(item(3L, DAY.plusDays(1), "Work", true, 100L));
+        TimeSeries daily = statistics.timeSeries(TodoStatistics.Period.DAY, DAY.plusDays(1), DAY.plusDays(6));
+        TimeSeries weekly = statistics.timeSeries(TodoStatistics.Period.WEEK, DAY, DAY.plusDays(6));
+
+        // Assert
+        assertEquals(List.of(DAY.plusDays(1), DAY.plusDays(6)),
+                daily.getPoints().stream().map(TimeSpent::getDate).toList());
+        assertEquals(2, daily.getPoints().get(0).getCompleted());
+        assertEquals(145, daily.getPoints().get(0).getTimeTaken());
+        assertEquals(List.of(monday, monday.plusWeeks(1)),
+                weekly.getPoints().stream().map(TimeSpent::getDate).toList());
+        assertEquals(List.of("Work", "Home"), weekly.getPoints().stream().map(TimeSpent::getCategory).toList());
+        assertEquals(3, weekly.getPoints().get(0).getCompleted());
+        assertEquals(175, weekly.getPoints().get(0).getTimeTaken());
+        verify(repository, times(1)).findAll();
+    }
+}
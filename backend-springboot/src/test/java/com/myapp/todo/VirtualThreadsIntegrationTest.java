@@ -0,0 +1,113 @@
+package com.myapp.todo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for the virtual-thread mode. Tomcat's platform pool is shrunk to
+ * four threads, a size that slow clients would exhaust without virtual threads.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "spring.threads.virtual.enabled=true",
+                "server.tomcat.threads.max=4",
+                "todo.sqlite.max-connections=2" })
+@ActiveProfiles("test")
+class VirtualThreadsIntegrationTest {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private DataSource dataSource;
+
+        private final List<Socket> slowClients = new ArrayList<>();
+
+        private final HttpClient client = HttpClient.newBuilder()
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build();
+
+        @AfterEach
+        void tearDown() throws IOException {
+                for (Socket socket : slowClients) {
+                        socket.close();
+                }
+        }
+
+        @Test
+        @DisplayName("requests keep being served while many clients hold requests open")
+        void testSlowClientsDoNotStarveOthers() throws Exception {
+                // Arrange - each slow client sends headers and only part of its body,
+                // leaving its request blocked reading the rest
+                for (int i = 0; i < 50; i++) {
+                        Socket socket = new Socket("localhost", port);
+                        OutputStream out = socket.getOutputStream();
+                        out.write(("POST /todo/scratchpad HTTP/1.1\r\nHost: localhost\r\n"
+                                        + "Content-Type: text/plain\r\nContent-Length: 1000\r\n\r\npartial")
+                                        .getBytes(StandardCharsets.US_ASCII));
+                        out.flush();
+                        slowClients.add(socket);
+                }
+
+                // Act
+                HttpResponse<String> response = client.send(request("/todo/all"),
+                                HttpResponse.BodyHandlers.ofString());
+
+                // Assert
+                assertThat(response.statusCode()).isEqualTo(200);
+        }
+
+        @Test
+        @DisplayName("concurrent database reads all succeed within the connection cap")
+        void testConcurrentReadsAreBounded() throws Exception {
+                // Arrange
+                assertThat(dataSource).isInstanceOf(BoundedDataSource.class);
+                BoundedDataSource bounded = (BoundedDataSource) dataSource;
+                List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+
+                // Act
+                for (int i = 0; i < 200; i++) {
+                        responses.add(client.sendAsync(request("/todo/changes?since=0"),
+                                        HttpResponse.BodyHandlers.ofString()));
+                }
+
+                // Assert
+                for (CompletableFuture<HttpResponse<String>> response : responses) {
+                        assertThat(response.get().statusCode()).isEqualTo(200);
+                }
+                assertThat(bounded.getMaxConnections()).isEqualTo(2);
+                // A request may return its connection just after its response is sent
+                long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+                while (bounded.getActiveConnections() > 0 && System.nanoTime() < deadline) {
+                        Thread.sleep(10);
+                }
+                assertThat(bounded.getActiveConnections()).isZero();
+        }
+
+        private HttpRequest request(String path) {
+                return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                                .timeout(Duration.ofSeconds(10))
+                                .build();
+        }
+}
@@ -15,4 +15,11 @@ fi
 
 # Ensure destination directory exists and copy the JAR file
 mkdir -p "$PROD_DIR"
-cp "$JAR_FILE" "$PROD_DIR/"
\ No newline at end of file
+cp "$JAR_FILE" "$PROD_DIR/"
+
+# Fast-startup build (./mvnw -Pfast-startup package): copy the extracted jar and CDS archive too.
+# cp -a keeps the jar timestamps, which the archive is checked against.
+if [ -d "$TARGET_DIR/fast-startup" ]; then
+    rm -rf "$PROD_DIR/fast-startup"
+    cp -a "$TARGET_DIR/fast-startup" "$PROD_DIR/"
+fi